@@ -0,0 +1,194 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Frequent activity transitions and sequences per offline location.
+ *
+ * Activity names are encoded as ints once. In every offline meeting each
+ * participant's activities, in timestamp order, form one int sequence; all of
+ * its n-grams up to {@link #MAX_LENGTH} are counted in a prefix tree per
+ * location (everyone) and per participant at that location. Each activity
+ * touches at most MAX_LENGTH tree nodes, so mining is linear in the number of
+ * activities. Sequences never span two meetings.
+ *
+ * Output (TSV): location, participant ("*" for everyone), length, pattern,
+ * count and share of all n-grams of that length at that scope.
+ */
+public class ActivitySequences {
+    static final int MAX_LENGTH = 3;
+    static final int TOP_PER_LENGTH = 5;
+    static final int MIN_COUNT = 2;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, LocationState> locations = new TreeMap<>();
+    private long activities = 0;
+
+    /** Mines all offline meetings and writes the patterns to filename. */
+    public static long writeReport(Iterable<App.Meeting> meetings, String filename) throws IOException {
+        long start = Metrics.start();
+        ActivitySequences miner = new ActivitySequences();
+        for (App.Meeting m : meetings) {
+            miner.accept(m);
+        }
+        long rows;
+        try (PrintWriter writer = DataFiles.newWriter(filename)) {
+            rows = miner.write(writer);
+        }
+        Metrics.stop("activity_sequences", start);
+        System.out.println("✅ Activity sequence report generated: " + DataFiles.outputName(filename)
+            + " (" + rows + " patterns from " + miner.activities + " activities)");
+        return rows;
+    }
+
+    public void accept(App.Meeting meeting) {
+        if (!"offline".equals(meeting.type) || meeting.activities.isEmpty()) return;
+        // Activities are recorded per meeting; a stable sort keeps equal timestamps in file order
+        List<App.Activity> ordered = App.inOrder(meeting.activities, (a, b) -> a.timestamp.compareTo(b.timestamp));
+        Map<String, IntSequence> sequences = new LinkedHashMap<>();
+        for (App.Activity a : ordered) {
+            int code = codes.computeIfAbsent(a.activity, k -> {
+                names.add(k);
+                return names.size() - 1;
+            });
+            sequences.computeIfAbsent(a.participant, k -> new IntSequence()).add(code);
+            activities++;
+        }
+
+        LocationState location = locations.computeIfAbsent(meeting.location, k -> new LocationState());
+        sequences.forEach((participant, seq) -> {
+            location.everyone.addAll(seq.codes, seq.size);
+            location.participants.computeIfAbsent(participant, k -> new PrefixCounter()).addAll(seq.codes, seq.size);
+        });
+    }
+
+    /** Writes the most frequent patterns per location and participant; returns the row count. */
+    public long write(PrintWriter out) {
+        out.println("location\tparticipant\tlength\tpattern\tcount\tshare");
+        long rows = 0;
+        for (Map.Entry<String, LocationState> location : locations.entrySet()) {
+            rows += writeScope(out, location.getKey(), "*", location.getValue().everyone);
+            for (Map.Entry<String, PrefixCounter> p : new TreeMap<>(location.getValue().participants).entrySet()) {
+                rows += writeScope(out, location.getKey(), p.getKey(), p.getValue());
+            }
+        }
+        out.flush();
+        return rows;
+    }
+
+    private long writeScope(PrintWriter out, String location, String participant, PrefixCounter counter) {
+        long rows = 0;
+        for (int length = 2; length <= MAX_LENGTH; length++) {
+            TopK<Pattern> top = new TopK<>(TOP_PER_LENGTH);
+            long[] total = new long[1];
+            counter.forEach(length, (path, count) -> {
+                total[0] += count;
+                if (count >= MIN_COUNT) top.offer(new Pattern(path.clone(), count), count);
+            });
+            for (Pattern p : top.toList()) {
+                out.printf("%s\t%s\t%d\t%s\t%d\t%.3f%n",
+                    location, participant, length, text(p.codes), p.count, (double) p.count / total[0]);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private String text(int[] codes) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < codes.length; i++) {
+            if (i > 0) sb.append(" -> ");
+            sb.append(names.get(codes[i]));
+        }
+        return sb.toString();
+    }
+
+    private static final class LocationState {
+        final PrefixCounter everyone = new PrefixCounter();
+        final Map<String, PrefixCounter> participants = new HashMap<>();
+    }
+
+    private static final class IntSequence {
+        int[] codes = new int[8];
+        int size = 0;
+
+        void add(int code) {
+            if (size == codes.length) codes = Arrays.copyOf(codes, size * 2);
+            codes[size++] = code;
+        }
+    }
+
+    private static final class Pattern {
+        final int[] codes;
+        final long count;
+
+        Pattern(int[] codes, long count) {
+            this.codes = codes;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Counts n-grams of int sequences as paths from the root; a node's count
+     * is the number of times its path occurred. Children are kept in small
+     * parallel arrays, since an activity vocabulary has few distinct codes.
+     */
+    static final class PrefixCounter {
+        private int[] keys = new int[0];
+        private PrefixCounter[] children = new PrefixCounter[0];
+        private int size = 0;
+        long count = 0;
+
+        /** Counts every n-gram of seq[0..n) up to MAX_LENGTH long. */
+        void addAll(int[] seq, int n) {
+            for (int i = 0; i < n; i++) {
+                PrefixCounter node = this;
+                for (int d = 0; d < MAX_LENGTH && i + d < n; d++) {
+                    node = node.child(seq[i + d]);
+                    node.count++;
+                }
+            }
+        }
+
+        private PrefixCounter child(int key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == key) return children[i];
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(4, size * 2));
+                children = Arrays.copyOf(children, keys.length);
+            }
+            keys[size] = key;
+            children[size] = new PrefixCounter();
+            return children[size++];
+        }
+
+        interface PathVisitor {
+            /** The path array is reused between calls. */
+            void visit(int[] path, long count);
+        }
+
+        /** Visits every path of exactly the given length. */
+        void forEach(int length, PathVisitor visitor) {
+            visit(new int[length], 0, length, visitor);
+        }
+
+        private void visit(int[] path, int depth, int length, PathVisitor visitor) {
+            if (depth == length) {
+                visitor.visit(path, count);
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                path[depth] = keys[i];
+                children[i].visit(path, depth + 1, length, visitor);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs analyzers against a shared, immutable {@link Dataset}.
+ * Independent analyzers can run in parallel on the engine's executor; they all
+ * read the same loaded data without copying it.
+ */
+public class AnalyticsEngine {
+    private final Dataset dataset;
+    private final ExecutorService executor;
+
+    public AnalyticsEngine(Dataset dataset) {
+        this(dataset, ForkJoinPool.commonPool());
+    }
+
+    public AnalyticsEngine(Dataset dataset, ExecutorService executor) {
+        this.dataset = dataset;
+        this.executor = executor;
+    }
+
+    public Dataset getDataset() {
+        return dataset;
+    }
+
+    public <R> R run(Analyzer<R> analyzer) {
+        return analyzer.analyze(dataset);
+    }
+
+    public <R> CompletableFuture<R> submit(Analyzer<R> analyzer) {
+        return CompletableFuture.supplyAsync(() -> analyzer.analyze(dataset), executor);
+    }
+
+    /** Runs all analyzers concurrently and returns their results in the same order. */
+    public List<Object> runAll(List<? extends Analyzer<?>> analyzers) {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (Analyzer<?> analyzer : analyzers) {
+            futures.add(submit(analyzer));
+        }
+        List<Object> results = new ArrayList<>();
+        for (CompletableFuture<?> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,238 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP server exposing the analytics as JSON.
+ *
+ * Endpoints (GET and HEAD):
+ *   /api/meetings            meeting list
+ *   /api/meetings/{id}       per-meeting stats
+ *   /api/totals              overall totals per participant
+ *   /api/spam                spam scores per online meeting
+ *   /api/attendance          attendance summaries per offline meeting
+ *
+ * The dataset is immutable, so each response body is rendered once and
+ * cached together with its ETag; repeat requests are served from memory
+ * and conditional requests get 304 Not Modified.
+ */
+public class AnalyticsServer {
+    private final AnalyticsEngine engine;
+    private final ObjectMapper mapper = Json.MAPPER;
+    private final Map<String, CachedResponse> cache = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public AnalyticsServer(Dataset dataset) {
+        this.engine = new AnalyticsEngine(dataset);
+    }
+
+    public void start(int port) throws IOException {
+        // Headers and body are separate writes; without TCP_NODELAY each response waits on delayed ACKs
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+        server.start();
+        System.out.println("Analytics server listening on http://127.0.0.1:" + getPort() + "/api/");
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = Metrics.start();
+        try {
+            boolean head = "HEAD".equals(exchange.getRequestMethod());
+            if (!head && !"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, null, null);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            CachedResponse response = cache.get(path);
+            if (response == null) {
+                Object body = route(path);
+                if (body == null) {
+                    send(exchange, 404, null, null);
+                    return;
+                }
+                response = cache.computeIfAbsent(path, k -> CachedResponse.of(mapper, body));
+            }
+            exchange.getResponseHeaders().set("ETag", response.etag);
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+            if (matches(exchange.getRequestHeaders().getFirst("If-None-Match"), response.etag)) {
+                send(exchange, 304, null, null);
+            } else {
+                send(exchange, 200, head ? null : response.body, "application/json");
+            }
+        } catch (RuntimeException e) {
+            send(exchange, 500, null, null);
+        } finally {
+            Metrics.stop("http.request", start);
+        }
+    }
+
+    /**
+     * Whether an If-None-Match header matches etag: "*", or a comma-separated
+     * list of tags compared weakly, so W/"x" matches "x".
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        if (ifNoneMatch.trim().equals("*")) return true;
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    private Object route(String path) {
+        Dataset data = engine.getDataset();
+        switch (path) {
+            case "/api/meetings":
+                List<Map<String, Object>> list = new ArrayList<>();
+                for (App.Meeting m : data.meetings()) {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("meeting_id", m.meetingId);
+                    entry.put("title", m.title);
+                    entry.put("date", m.date);
+                    entry.put("type", m.type);
+                    entry.put("location", m.location);
+                    list.add(entry);
+                }
+                return list;
+            case "/api/totals":
+                Map<String, Object> totals = new LinkedHashMap<>();
+                totals.put("meetings", data.meetings().size());
+                totals.put("online_meetings", data.online().size());
+                totals.put("offline_meetings", data.offline().size());
+                ParticipantAggregates overall = ParticipantAggregates.of(data.meetings());
+                totals.put("total_time_seconds", overall.totalTime());
+                totals.put("chat_counts", overall.chatCounts());
+                return totals;
+            case "/api/spam":
+                Map<String, Object> spam = new LinkedHashMap<>();
+                engine.run(new Analyzers.SpamAnalyzer()).forEach((meetingId, scores) -> {
+                    Map<String, Object> perSender = new LinkedHashMap<>();
+                    for (Analyzers.ParticipantScore ps : scores) {
+                        Map<String, Object> entry = new LinkedHashMap<>();
+                        entry.put("messages", ps.messageCount);
+                        entry.put("spam", ps.isSpam);
+                        entry.put("score", ps.score);
+                        perSender.put(ps.participant, entry);
+                    }
+                    spam.put(meetingId, perSender);
+                });
+                return spam;
+            case "/api/attendance":
+                Map<String, Object> attendance = new LinkedHashMap<>();
+                engine.run(new Analyzers.AttendanceAnalyzer()).forEach((meetingId, summary) ->
+                    attendance.put(meetingId, attendanceJson(summary)));
+                return attendance;
+            default:
+                if (path.startsWith("/api/meetings/")) {
+                    String id = path.substring("/api/meetings/".length());
+                    List<App.Meeting> meetings = data.meetings();
+                    for (int i = 0; i < meetings.size(); i++) {
+                        App.Meeting m = meetings.get(i);
+                        if (m.meetingId.equals(id)) {
+                            return meetingJson(m, data.summaries().get(i), data.presence(m));
+                        }
+                    }
+                }
+                return null;
+        }
+    }
+
+    private static Map<String, Object> meetingJson(App.Meeting m, MeetingSummary summary, PresenceCube presence) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("meeting_id", m.meetingId);
+        result.put("title", m.title);
+        result.put("date", m.date);
+        result.put("type", m.type);
+        result.put("location", m.location);
+        result.put("participants", m.participants.size());
+        result.put("total_time_seconds", App.getMeetingTotalTime(m));
+        if ("online".equals(m.type)) {
+            result.put("chat_counts", App.getMeetingChatCounts(m));
+        } else {
+            result.put("attendance", attendanceJson(Analyzers.AttendanceSummary.of(summary)));
+            result.put("activities", m.activities.size());
+        }
+        result.put("presence", presenceJson(presence));
+        return result;
+    }
+
+    private static Map<String, Object> presenceJson(PresenceCube cube) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("start", cube.getStart() == null ? null : cube.getStart().toString());
+        result.put("minutes", cube.getMinutes());
+        result.put("present_per_minute", cube.presenceCounts());
+        result.put("low_presence_minutes", cube.lowPresenceMinutes(0.5).stream().toArray());
+        result.put("chat_bursts_while_attendance_dropped", cube.chatBurstsWhileAttendanceDropped(2).stream().toArray());
+        return result;
+    }
+
+    private static Map<String, Object> attendanceJson(Analyzers.AttendanceSummary summary) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("present", summary.present);
+        result.put("late", summary.late);
+        result.put("absent", summary.absent);
+        result.put("rate", summary.rate);
+        return result;
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body, String contentType) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        exchange.sendResponseHeaders(status, body == null ? -1 : body.length);
+        if (body != null) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+        exchange.close();
+    }
+
+    private static class CachedResponse {
+        final byte[] body;
+        final String etag;
+
+        CachedResponse(byte[] body, String etag) {
+            this.body = body;
+            this.etag = etag;
+        }
+
+        static CachedResponse of(ObjectMapper mapper, Object value) {
+            try {
+                byte[] body = mapper.writeValueAsBytes(value);
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                return new CachedResponse(body, "\"" + Long.toHexString(crc.getValue()) + "-" + body.length + "\"");
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to serialize response", e);
+            }
+        }
+    }
+}
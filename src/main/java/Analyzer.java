@@ -0,0 +1,15 @@
+import java.util.function.Function;
+
+/**
+ * A stateless computation over a {@link Dataset}.
+ * Implementations must not mutate the dataset so they can run in parallel.
+ */
+@FunctionalInterface
+public interface Analyzer<R> {
+    R analyze(Dataset dataset);
+
+    /** Derives a new analyzer that post-processes this analyzer's result. */
+    default <S> Analyzer<S> andThen(Function<? super R, ? extends S> next) {
+        return dataset -> next.apply(analyze(dataset));
+    }
+}
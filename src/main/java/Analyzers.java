@@ -0,0 +1,248 @@
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Built-in analyzers and their result objects.
+ * Results are plain immutable values keyed by meeting id, in dataset order.
+ */
+public class Analyzers {
+
+    /**
+     * Spam flag and score for every chat sender, per online meeting.
+     * Messages that belong to a coordinated near-duplicate cluster (the same
+     * reply pasted by several people, across any meetings) add to the score.
+     */
+    public static class SpamAnalyzer implements Analyzer<Map<String, List<ParticipantScore>>> {
+        static final int COORDINATED_MIN_SENDERS = 3;
+        static final double COORDINATED_POINTS = 3;
+
+        @Override
+        public Map<String, List<ParticipantScore>> analyze(Dataset dataset) {
+            Set<App.Chat> coordinated = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (MessageSimilarity.Cluster cluster
+                    : MessageSimilarity.coordinated(dataset, COORDINATED_MIN_SENDERS)) {
+                for (MessageSimilarity.Occurrence o : cluster.occurrences) {
+                    coordinated.add(o.chat);
+                }
+            }
+
+            // Interned messages recur across meetings, so one cache serves the whole pass
+            MessageSimilarity.Signatures signatures = new MessageSimilarity.Signatures();
+            Map<String, List<ParticipantScore>> result = new LinkedHashMap<>();
+            for (App.Meeting m : dataset.online()) {
+                if (m.chats.isEmpty()) continue;
+                // m.chats is sorted by timestamp, and groupingBy keeps that order per sender
+                Map<String, List<App.Chat>> chatsByParticipant = m.chats.stream()
+                    .collect(Collectors.groupingBy(c -> c.sender));
+
+                List<ParticipantScore> scores = new ArrayList<>();
+                chatsByParticipant.forEach((participant, chats) -> {
+                    long coordinatedCount = chats.stream().filter(coordinated::contains).count();
+                    double spamScore = Math.min(100, calculateSpamScore(chats, signatures) + coordinatedCount * COORDINATED_POINTS);
+                    boolean isSpam = spamScore >= 15 || detectSpamPattern(chats, 2, 1, signatures);
+                    scores.add(new ParticipantScore(participant, chats.size(), isSpam, spamScore));
+                });
+                result.put(m.meetingId, List.copyOf(scores));
+            }
+            return result;
+        }
+
+        /** Expects chats from one sender, sorted by timestamp. */
+        static boolean detectSpamPattern(List<App.Chat> chats, int threshold, int minutes,
+                                         MessageSimilarity.Signatures signatures) {
+            if (chats.size() < 2) return false;
+
+            double spamScore = calculateSpamScore(chats, signatures);
+
+            if (spamScore >= 15) {
+                return true;
+            }
+            if (spamScore < 7) return false;
+
+            if (chats.size() >= threshold) {
+                for (int i = 0; i <= chats.size() - threshold; i++) {
+                    Duration delta = Duration.between(
+                        chats.get(i).timestamp,
+                        chats.get(i + threshold - 1).timestamp
+                    );
+                    if (delta.toSeconds() <= minutes * 60) {
+                        return true;
+                    }
+                }
+            }
+
+            int consecutiveDuplicates = 0;
+            for (int i = 0; i < chats.size() - 1; i++) {
+                if (signatures.isNearDuplicate(chats.get(i), chats.get(i + 1))) {
+                    consecutiveDuplicates++;
+                    if (consecutiveDuplicates >= 2) {
+                        return true;
+                    }
+                } else {
+                    consecutiveDuplicates = 0;
+                }
+            }
+
+            return false;
+        }
+
+        /** Expects chats from one sender, sorted by timestamp. */
+        static double calculateSpamScore(List<App.Chat> chats) {
+            return calculateSpamScore(chats, new MessageSimilarity.Signatures());
+        }
+
+        /** As {@link #calculateSpamScore(List)}, reusing the signatures of earlier calls. */
+        static double calculateSpamScore(List<App.Chat> chats, MessageSimilarity.Signatures signatures) {
+            if (chats.size() < 2) return 10.0;
+
+            double minutes = Duration.between(
+                chats.get(0).timestamp,
+                chats.get(chats.size()-1).timestamp
+            ).toMinutes();
+            minutes = Math.max(1, minutes);
+            double density = chats.size() / minutes;
+
+            double spamPoints = 0;
+            for (int i = 0; i < chats.size() - 1; i++) {
+                Duration delta = Duration.between(chats.get(i).timestamp, chats.get(i + 1).timestamp);
+
+                if (delta.toSeconds() <= 30) {
+                    spamPoints += 5;
+                    if (signatures.isNearDuplicate(chats.get(i), chats.get(i + 1))) {
+                        spamPoints += 10;
+                    }
+                }
+            }
+
+            return Math.min(100, spamPoints + (density * 2));
+        }
+    }
+
+    /** Message counts and most active sender per online meeting, built on the spam scores. */
+    public static class ChatPatternAnalyzer implements Analyzer<Map<String, ChatPattern>> {
+        private final Analyzer<Map<String, List<ParticipantScore>>> spam;
+
+        public ChatPatternAnalyzer() {
+            this(new SpamAnalyzer());
+        }
+
+        public ChatPatternAnalyzer(Analyzer<Map<String, List<ParticipantScore>>> spam) {
+            this.spam = spam;
+        }
+
+        @Override
+        public Map<String, ChatPattern> analyze(Dataset dataset) {
+            Map<String, List<ParticipantScore>> scoresByMeeting = spam.analyze(dataset);
+            Map<String, ChatPattern> result = new LinkedHashMap<>();
+            for (App.Meeting m : dataset.online()) {
+                List<ParticipantScore> scores = scoresByMeeting.get(m.meetingId);
+                if (scores == null) continue;
+                TopK<ParticipantScore> top = new TopK<>(1);
+                for (ParticipantScore ps : scores) {
+                    top.offer(ps, ps.messageCount);
+                }
+                String mostActive = top.toList().stream().findFirst().map(ps -> ps.participant).orElse("None");
+                result.put(m.meetingId, new ChatPattern(scores, mostActive, m.chats.size()));
+            }
+            return result;
+        }
+    }
+
+    /** Present/late/absent counts and attendance rate per offline meeting, read from the meeting summaries. */
+    public static class AttendanceAnalyzer implements Analyzer<Map<String, AttendanceSummary>> {
+        @Override
+        public Map<String, AttendanceSummary> analyze(Dataset dataset) {
+            Map<String, AttendanceSummary> result = new LinkedHashMap<>();
+            for (MeetingSummary s : dataset.summaries()) {
+                if (!s.isOnline()) result.put(s.meetingId, AttendanceSummary.of(s));
+            }
+            return result;
+        }
+    }
+
+    /** Activity count and most common activity per participant, per offline meeting. */
+    public static class ActivityAnalyzer implements Analyzer<Map<String, Map<String, ActivitySummary>>> {
+        @Override
+        public Map<String, Map<String, ActivitySummary>> analyze(Dataset dataset) {
+            Map<String, Map<String, ActivitySummary>> result = new LinkedHashMap<>();
+            for (App.Meeting m : dataset.offline()) {
+                if (m.activities.isEmpty()) continue;
+                Map<String, List<App.Activity>> activitiesByParticipant = m.activities.stream()
+                    .collect(Collectors.groupingBy(a -> a.participant));
+
+                Map<String, ActivitySummary> perParticipant = new LinkedHashMap<>();
+                for (Map.Entry<String, List<App.Activity>> entry : activitiesByParticipant.entrySet()) {
+                    List<App.Activity> activities = entry.getValue();
+                    String mostCommonActivity = activities.stream()
+                        .collect(Collectors.groupingBy(a -> a.activity, Collectors.counting()))
+                        .entrySet().stream()
+                        .max(Map.Entry.comparingByValue())
+                        .map(Map.Entry::getKey)
+                        .orElse("None");
+                    perParticipant.put(entry.getKey(), new ActivitySummary(activities.size(), mostCommonActivity));
+                }
+                result.put(m.meetingId, perParticipant);
+            }
+            return result;
+        }
+    }
+
+    public static class ParticipantScore {
+        final String participant;
+        final int messageCount;
+        final boolean isSpam;
+        final double score;
+
+        public ParticipantScore(String participant, int messageCount, boolean isSpam, double score) {
+            this.participant = participant;
+            this.messageCount = messageCount;
+            this.isSpam = isSpam;
+            this.score = score;
+        }
+    }
+
+    public static class ChatPattern {
+        final List<ParticipantScore> scores;
+        final String mostActive;
+        final int totalMessages;
+
+        ChatPattern(List<ParticipantScore> scores, String mostActive, int totalMessages) {
+            this.scores = scores;
+            this.mostActive = mostActive;
+            this.totalMessages = totalMessages;
+        }
+    }
+
+    public static class AttendanceSummary {
+        final long present, late, absent;
+        final double rate;
+
+        AttendanceSummary(long present, long late, long absent, double rate) {
+            this.present = present;
+            this.late = late;
+            this.absent = absent;
+            this.rate = rate;
+        }
+
+        static AttendanceSummary of(MeetingSummary s) {
+            return new AttendanceSummary(s.present, s.late, s.absent, s.getAttendanceRate());
+        }
+    }
+
+    public static class ActivitySummary {
+        final int count;
+        final String mostCommon;
+
+        ActivitySummary(int count, String mostCommon) {
+            this.count = count;
+            this.mostCommon = mostCommon;
+        }
+    }
+}
@@ -1,136 +1,305 @@
 
-import java.awt.Color;
-import java.awt.Dimension;
-import java.awt.Font;
-import java.awt.GridLayout;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
-import javax.swing.JComboBox;
-import javax.swing.JFrame;
-import javax.swing.JPanel;
-import javax.swing.SwingUtilities;
-
-import org.jfree.chart.ChartFactory;
-import org.jfree.chart.ChartPanel;
-import org.jfree.chart.JFreeChart;
-import org.jfree.chart.plot.CategoryPlot;
-import org.jfree.chart.plot.PlotOrientation;
-import org.jfree.data.category.DefaultCategoryDataset;
-import org.jfree.data.xy.XYSeries;
-import org.jfree.data.xy.XYSeriesCollection;
-
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class App {
-    static List<Meeting> meetings = new ArrayList<>();
-    static Map<String, Meeting> meetingMap = new LinkedHashMap<>();
+    static volatile Dataset dataset = new Dataset(List.of());
     static final String OVERALL = "All Meetings (Overall)";
 
     public static void main(String[] args) throws Exception {
+        boolean profile = false;
+        String metricsFile = null;
+        int servePort = -1;
+        String exportDir = null;
+        String statsDir = null;
+        String identityCache = null;
+        String quarantineFile = null;
+        long memoryBudget = 0;
+        String inputFile = null;
+        String watchDir = null;
+        String batchSpec = null;
+        boolean dashboard = true;
+        Double replaySpeed = null;
+        String sequencesFile = null;
+        String compareSpec = null;
+        boolean weeklyTrends = false;
+        int trendWindow = 7;
+        for (String arg : args) {
+            if (arg.equals("--profile")) {
+                profile = true;
+            } else if (arg.equals("--serve")) {
+                servePort = 8080;
+            } else if (arg.startsWith("--serve=")) {
+                servePort = Integer.parseInt(arg.substring("--serve=".length()));
+            } else if (arg.startsWith("--identity-cache=")) {
+                identityCache = arg.substring("--identity-cache=".length());
+            } else if (arg.equals("--parallel")) {
+                ParticipantAggregates.setParallelism(Runtime.getRuntime().availableProcessors());
+            } else if (arg.startsWith("--parallel=")) {
+                ParticipantAggregates.setParallelism(Integer.parseInt(arg.substring("--parallel=".length())));
+            } else if (arg.startsWith("--memory-budget=")) {
+                memoryBudget = parseSize(arg.substring("--memory-budget=".length()));
+            } else if (arg.startsWith("--input=")) {
+                inputFile = arg.substring("--input=".length());
+            } else if (arg.startsWith("--batch=")) {
+                batchSpec = arg.substring("--batch=".length());
+            } else if (arg.startsWith("--watch=")) {
+                watchDir = arg.substring("--watch=".length());
+            } else if (arg.equals("--replay")) {
+                replaySpeed = 1000.0;
+            } else if (arg.startsWith("--replay=")) {
+                String speed = arg.substring("--replay=".length());
+                replaySpeed = speed.equals("max") ? 0 : Double.parseDouble(speed);
+            } else if (arg.startsWith("--anomaly-horizon=")) {
+                AttendanceAnomalies.setHorizon(Duration.ofDays(Long.parseLong(arg.substring("--anomaly-horizon=".length()))));
+            } else if (arg.equals("--activity-sequences")) {
+                sequencesFile = "StudTrack_Activity_Sequences.tsv";
+            } else if (arg.startsWith("--activity-sequences=")) {
+                sequencesFile = arg.substring("--activity-sequences=".length());
+            } else if (arg.startsWith("--compare=")) {
+                compareSpec = arg.substring("--compare=".length());
+            } else if (arg.equals("--no-dashboard")) {
+                dashboard = false;
+            } else if (arg.equals("--compress-output")) {
+                DataFiles.setCompressOutput(true);
+            } else if (arg.startsWith("--quarantine=")) {
+                quarantineFile = arg.substring("--quarantine=".length());
+            } else if (arg.equals("--compress-messages")) {
+                MessageTable.setCompression(true);
+            } else if (arg.equals("--export-charts")) {
+                exportDir = "charts";
+            } else if (arg.startsWith("--export-charts=")) {
+                exportDir = arg.substring("--export-charts=".length());
+            } else if (arg.equals("--export-stats")) {
+                statsDir = "stats";
+            } else if (arg.startsWith("--export-stats=")) {
+                statsDir = arg.substring("--export-stats=".length());
+            } else if (arg.equals("--trend-weekly")) {
+                weeklyTrends = true;
+            } else if (arg.startsWith("--trend-window=")) {
+                trendWindow = Integer.parseInt(arg.substring("--trend-window=".length()));
+            } else if (arg.startsWith("--metrics=")) {
+                metricsFile = arg.substring("--metrics=".length());
+            }
+        }
+        EngagementTrends.setDefaults(weeklyTrends, trendWindow);
+        if (profile || metricsFile != null) {
+            Metrics.enable();
+        }
+        if (exportDir != null) {
+            // Must be set before any AWT class initializes
+            System.setProperty("java.awt.headless", "true");
+        }
+        if (metricsFile != null) {
+            String target = metricsFile;
+            // Written on exit so dashboard refresh timings are included
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    Metrics.writeTo(target);
+                    System.out.println("Metrics written: " + target);
+                } catch (Exception e) {
+                    System.err.println("❌ Error writing metrics: " + e.getMessage());
+                }
+            }));
+        }
+
         System.out.println("StudTrack - Meeting Analytics Dashboard (Online & Offline)");
         System.out.println("==========================================================");
 
-        // Load JSON data with offline support
-        InputStream inputStream = App.class.getResourceAsStream("/meet_data_with_offline.json");
-        if (inputStream == null) {
-            System.out.println("❌ JSON file not found!");
-            return;
+        IdentityResolver identities = new IdentityResolver();
+        if (identityCache != null) {
+            identities.load(Path.of(identityCache));
         }
 
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(inputStream);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        // Load JSON data with offline support
+        DatasetWatcher watcher = null;
+        InputStream inputStream = null;
+        if (watchDir != null) {
+            if (!dashboard) {
+                System.out.println("❌ --watch keeps the dashboard current and cannot be combined with --no-dashboard");
+                return;
+            }
+            if (memoryBudget > 0) {
+                System.out.println("❌ --watch keeps every meeting loaded and cannot be combined with --memory-budget");
+                return;
+            }
+            if (!Files.isDirectory(Path.of(watchDir))) {
+                System.out.println("❌ Watch directory not found: " + watchDir);
+                return;
+            }
+            watcher = new DatasetWatcher(Path.of(watchDir), identities);
+            // Registered before the first load, so changes made while it runs are not missed
+            watcher.register();
+        } else if (inputFile != null) {
+            try {
+                inputStream = DataFiles.openInput(Path.of(inputFile));
+            } catch (FileNotFoundException e) {
+                System.out.println("❌ JSON file not found: " + inputFile);
+                return;
+            }
+        } else {
+            inputStream = App.class.getResourceAsStream("/meet_data_with_offline.json");
+            if (inputStream == null) {
+                System.out.println("❌ JSON file not found!");
+                return;
+            }
+        }
 
-        // Parse meetings with support for both online and offline
-        for (JsonNode meetingNode : root.get("meetings")) {
-            String meetingId = meetingNode.get("meeting_id").asText();
-            String title = meetingNode.get("title").asText();
-            String date = meetingNode.get("date").asText();
-            String type = meetingNode.has("type") ? meetingNode.get("type").asText() : "online";
-            String location = meetingNode.has("location") ? meetingNode.get("location").asText() : "";
-            
-            List<Participant> participants = new ArrayList<>();
-            
-            if ("online".equals(type)) {
-                // Parse online meeting participants
-                for (JsonNode person : meetingNode.get("participants")) {
-                    String name = person.get("name").asText();
-                    List<Session> sessions = new ArrayList<>();
-                    for (JsonNode session : person.get("sessions")) {
-                        LocalDateTime join = LocalDateTime.parse(session.get("join").asText(), formatter);
-                        LocalDateTime leave = LocalDateTime.parse(session.get("leave").asText(), formatter);
-                        sessions.add(new Session(join, leave, Duration.between(join, leave).getSeconds()));
-                    }
-                    participants.add(new Participant(name, sessions, null));
-                }
+        if (memoryBudget > 0) {
+            // Budget mode: meetings are aggregated as they are parsed and never kept; participant report only
+            ParticipantAggregates overall;
+            if (quarantineFile == null) {
+                overall = ParticipantAggregates.stream(inputStream, identities, null, memoryBudget);
             } else {
-                // Parse offline meeting participants
-                for (JsonNode person : meetingNode.get("participants")) {
-                    String name = person.get("name").asText();
-                    JsonNode attendanceNode = person.get("attendance");
-                    Attendance attendance = null;
-                    
-                    if (attendanceNode != null) {
-                        String status = attendanceNode.get("status").asText();
-                        LocalDateTime checkIn = null;
-                        LocalDateTime checkOut = null;
-                        
-                        if (attendanceNode.has("check_in") && !attendanceNode.get("check_in").isNull()) {
-                            checkIn = LocalDateTime.parse(attendanceNode.get("check_in").asText(), formatter);
-                        }
-                        if (attendanceNode.has("check_out") && !attendanceNode.get("check_out").isNull()) {
-                            checkOut = LocalDateTime.parse(attendanceNode.get("check_out").asText(), formatter);
-                        }
-                        
-                        int lateByMinutes = attendanceNode.has("late_by_minutes") ? attendanceNode.get("late_by_minutes").asInt() : 0;
-                        int earlyLeaveMinutes = attendanceNode.has("early_leave_minutes") ? attendanceNode.get("early_leave_minutes").asInt() : 0;
-                        
-                        attendance = new Attendance(status, checkIn, checkOut, lateByMinutes, earlyLeaveMinutes);
+                try (Quarantine quarantine = new Quarantine(Path.of(quarantineFile))) {
+                    overall = ParticipantAggregates.stream(inputStream, identities, quarantine, memoryBudget);
+                    if (quarantine.getCount() > 0) {
+                        System.out.println("❌ Quarantined " + quarantine.getCount() + " invalid records to " + quarantineFile);
                     }
-                    
-                    participants.add(new Participant(name, new ArrayList<>(), attendance));
                 }
             }
-
-            List<Chat> chats = new ArrayList<>();
-            if (meetingNode.has("chats")) {
-                for (JsonNode chatNode : meetingNode.get("chats")) {
-                    chats.add(new Chat(
-                        LocalDateTime.parse(chatNode.get("timestamp").asText(), formatter),
-                        chatNode.get("sender").asText(),
-                        chatNode.get("message").asText()
-                    ));
-                }
+            if (identityCache != null) {
+                identities.save(Path.of(identityCache));
             }
-            
-            List<Activity> activities = new ArrayList<>();
-            if (meetingNode.has("activities")) {
-                for (JsonNode activityNode : meetingNode.get("activities")) {
-                    activities.add(new Activity(
-                        LocalDateTime.parse(activityNode.get("timestamp").asText(), formatter),
-                        activityNode.get("participant").asText(),
-                        activityNode.get("activity").asText()
-                    ));
+            Metrics.snapshotHeap("after_load");
+            ReportGenerator.generateParticipantReport(overall, "StudTrack_Participants.txt");
+            if (profile) {
+                Metrics.printSummary(System.out);
+            }
+            return;
+        }
+        if (watcher != null) {
+            dataset = watcher.loadAll();
+        } else if (quarantineFile == null) {
+            dataset = Dataset.load(inputStream, identities);
+        } else {
+            try (Quarantine quarantine = new Quarantine(Path.of(quarantineFile))) {
+                dataset = Dataset.load(inputStream, identities, quarantine);
+                if (quarantine.getCount() > 0) {
+                    System.out.println("❌ Quarantined " + quarantine.getCount() + " invalid records to " + quarantineFile);
                 }
             }
-            
-            Meeting meeting = new Meeting(meetingId, title, date, type, location, participants, chats, activities);
-            meetings.add(meeting);
-            meetingMap.put(meetingId + " - " + title + " (" + date + ") [" + type + "]", meeting);
         }
+        if (identityCache != null) {
+            identities.save(Path.of(identityCache));
+        }
+        Map<String, String> merged = identities.getMergedVariants();
+        if (!merged.isEmpty()) {
+            System.out.println("Merged " + merged.size() + " participant name variants: " + merged);
+        }
+        Metrics.gauge("messages_distinct", MessageTable.size());
+        Metrics.snapshotHeap("after_load");
+        if (servePort >= 0) {
+            // Server mode: no console output, report or dashboard
+            new AnalyticsServer(dataset).start(servePort);
+            return;
+        }
+        if (batchSpec != null) {
+            // Batch mode: one load, many report jobs, no dashboard
+            int failed = BatchRunner.run(dataset, Path.of(batchSpec), identities);
+            if (profile) {
+                Metrics.printSummary(System.out);
+            }
+            if (failed > 0) {
+                System.exit(1);
+            }
+            return;
+        }
+        if (compareSpec != null) {
+            // Comparison mode: summaries only, no report or dashboard
+            MeetingComparison.run(dataset, compareSpec, System.out);
+            if (profile) {
+                Metrics.printSummary(System.out);
+            }
+            return;
+        }
+        if (replaySpeed != null) {
+            // Replay mode: stream the loaded meetings through the live state and analytics engine, no dashboard
+            ReplaySimulator.run(dataset, replaySpeed).print();
+            if (profile) {
+                Metrics.printSummary(System.out);
+            }
+            return;
+        }
+        if (statsDir != null) {
+            int files = StatsExporter.exportAll(dataset, Path.of(statsDir));
+            System.out.println("✅ Exported " + files + " statistics files to " + statsDir);
+            if (profile) {
+                Metrics.printSummary(System.out);
+            }
+            return;
+        }
+        if (exportDir != null) {
+            long exportStart = Metrics.start();
+            int files = ChartExporter.exportAll(dataset, Path.of(exportDir), Runtime.getRuntime().availableProcessors());
+            Metrics.stop("export", exportStart);
+            System.out.println("✅ Exported " + files + " charts to " + exportDir);
+            if (profile) {
+                Metrics.printSummary(System.out);
+            }
+            return;
+        }
+        AnalyticsEngine engine = new AnalyticsEngine(dataset);
+
+        long analysisStart = Metrics.start();
+        printConsoleAnalysis(engine);
+        Metrics.stop("console_analysis", analysisStart);
+
+        // Generate comprehensive report
+        long reportStart = Metrics.start();
+        ReportGenerator.generateComprehensiveReport(dataset, "StudTrack_Report.txt");
+        Metrics.stop("report", reportStart);
+        long anomalyStart = Metrics.start();
+        AttendanceAnomalies.writeReport(dataset.meetings(), "StudTrack_Attendance_Anomalies.tsv");
+        Metrics.stop("attendance_anomalies", anomalyStart);
+        if (sequencesFile != null) {
+            ActivitySequences.writeReport(dataset.meetings(), sequencesFile);
+        }
+        Metrics.snapshotHeap("after_report");
+        if (profile) {
+            Metrics.printSummary(System.out);
+        }
+        if (!dashboard) {
+            // Console and report only: Swing and JFreeChart are never loaded
+            return;
+        }
+        
+        // Create dashboard with slight delay
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {}
+        Dashboard.openLater();
+
+        if (watcher != null) {
+            watcher.start(snapshot -> {
+                dataset = snapshot;
+                Dashboard.refreshLater();
+            });
+            System.out.println("Watching " + watchDir + " for changes...");
+        }
+    }
+
+    // Runs the analyzers in parallel, then prints their results in meeting order
+    private static void printConsoleAnalysis(AnalyticsEngine engine) {
+        CompletableFuture<Map<String, Analyzers.ChatPattern>> chatPatterns =
+            engine.submit(new Analyzers.ChatPatternAnalyzer());
+        CompletableFuture<Map<String, Analyzers.AttendanceSummary>> attendance =
+            engine.submit(new Analyzers.AttendanceAnalyzer());
+        CompletableFuture<Map<String, Map<String, Analyzers.ActivitySummary>>> activity =
+            engine.submit(new Analyzers.ActivityAnalyzer());
+        List<Meeting> meetings = engine.getDataset().meetings();
 
         // Print meeting summaries
         for (Meeting m : meetings) {
@@ -165,180 +334,54 @@ public class App {
 
         // Enhanced Chat Pattern Analysis for online meetings
         System.out.println("\n=== Online Meeting Chat Pattern Analysis ===");
+        Map<String, Analyzers.ChatPattern> patterns = chatPatterns.join();
         for (Meeting m : meetings) {
-            if ("online".equals(m.type) && !m.chats.isEmpty()) {
-                System.out.println("\n" + m.title + " (" + m.date + ")");
-                
-                Map<String, List<Chat>> chatsByParticipant = m.chats.stream()
-                    .collect(Collectors.groupingBy(c -> c.sender));
-                
-                List<ParticipantScore> scores = new ArrayList<>();
-                
-                chatsByParticipant.forEach((participant, chats) -> {
-                    chats.sort(Comparator.comparing(c -> c.timestamp));
-                    
-                    boolean isSpam = detectSpamPattern(chats, 2, 1);
-                    double spamScore = calculateSpamScore(chats);
-                    
-                    scores.add(new ParticipantScore(participant, chats.size(), isSpam, spamScore));
-                });
-                
-                System.out.println("--------------------------------------------------");
-                System.out.printf("%-15s %-15s %-20s %-15s%n",
-                    "Participant", "Messages", "Pattern", "Spam Score");
-                System.out.println("--------------------------------------------------");
-                
-                for (ParticipantScore ps : scores) {
-                    System.out.printf("%-15s %-15d %-20s %-15.1f%n",
-                        ps.participant,
-                        ps.messageCount,
-                        ps.isSpam ? "SPAM DETECTED" : "Normal",
-                        ps.score
-                    );
-                }
-                
-                System.out.println("\nMeeting Highlights:");
-                System.out.println("- Most active: " + 
-                    scores.stream()
-                        .max(Comparator.comparingInt(ps -> ps.messageCount))
-                        .map(ps -> ps.participant)
-                        .orElse("None"));
-                System.out.println("- Total messages: " + m.chats.size());
+            Analyzers.ChatPattern pattern = patterns.get(m.meetingId);
+            if (pattern == null) continue;
+            System.out.println("\n" + m.title + " (" + m.date + ")");
+            
+            System.out.println("--------------------------------------------------");
+            System.out.printf("%-15s %-15s %-20s %-15s%n",
+                "Participant", "Messages", "Pattern", "Spam Score");
+            System.out.println("--------------------------------------------------");
+            
+            for (Analyzers.ParticipantScore ps : pattern.scores) {
+                System.out.printf("%-15s %-15d %-20s %-15.1f%n",
+                    ps.participant,
+                    ps.messageCount,
+                    ps.isSpam ? "SPAM DETECTED" : "Normal",
+                    ps.score
+                );
             }
+            
+            System.out.println("\nMeeting Highlights:");
+            System.out.println("- Most active: " + pattern.mostActive);
+            System.out.println("- Total messages: " + pattern.totalMessages);
         }
 
         // Offline Meeting Activity Analysis
         System.out.println("\n=== Offline Meeting Activity Analysis ===");
+        Map<String, Analyzers.AttendanceSummary> attendanceByMeeting = attendance.join();
+        Map<String, Map<String, Analyzers.ActivitySummary>> activityByMeeting = activity.join();
         for (Meeting m : meetings) {
-            if ("offline".equals(m.type) && !m.activities.isEmpty()) {
-                System.out.println("\n" + m.title + " (" + m.date + ") at " + m.location);
-                
-                Map<String, List<Activity>> activitiesByParticipant = m.activities.stream()
-                    .collect(Collectors.groupingBy(a -> a.participant));
-                
-                System.out.println("--------------------------------------------------");
-                System.out.printf("%-15s %-15s %-20s%n",
-                    "Participant", "Activities", "Most Common Activity");
-                System.out.println("--------------------------------------------------");
-                
-                for (Map.Entry<String, List<Activity>> entry : activitiesByParticipant.entrySet()) {
-                    String participant = entry.getKey();
-                    List<Activity> activities = entry.getValue();
-                    
-                    String mostCommonActivity = activities.stream()
-                        .collect(Collectors.groupingBy(a -> a.activity, Collectors.counting()))
-                        .entrySet().stream()
-                        .max(Map.Entry.comparingByValue())
-                        .map(Map.Entry::getKey)
-                        .orElse("None");
-                    
-                    System.out.printf("%-15s %-15d %-20s%n",
-                        participant, activities.size(), mostCommonActivity);
-                }
-                
-                System.out.println("\nAttendance Summary:");
-                long presentCount = m.participants.stream()
-                    .filter(p -> p.attendance != null && "present".equals(p.attendance.status))
-                    .count();
-                long lateCount = m.participants.stream()
-                    .filter(p -> p.attendance != null && "late".equals(p.attendance.status))
-                    .count();
-                long absentCount = m.participants.stream()
-                    .filter(p -> p.attendance != null && "absent".equals(p.attendance.status))
-                    .count();
-                
-                System.out.printf("- Present: %d, Late: %d, Absent: %d%n", presentCount, lateCount, absentCount);
-                System.out.printf("- Attendance Rate: %.1f%%%n", 
-                    (double)(presentCount + lateCount) / m.participants.size() * 100);
-            }
-        }
-
-        // Generate comprehensive report
-        ReportGenerator.generateComprehensiveReport(meetings, "StudTrack_Report.txt");
-        
-        // Create dashboard with slight delay
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {}
-        SwingUtilities.invokeLater(() -> createDashboard());
-    }
-
-    // Helper class to store results before printing
-    static class ParticipantScore {
-        String participant;
-        int messageCount;
-        boolean isSpam;
-        double score;
-
-        public ParticipantScore(String participant, int messageCount, boolean isSpam, double score) {
-            this.participant = participant;
-            this.messageCount = messageCount;
-            this.isSpam = isSpam;
-            this.score = score;
-        }
-    }
-
-    private static boolean detectSpamPattern(List<Chat> chats, int threshold, int minutes) {
-        if (chats.size() < 2) return false;
-        chats.sort(Comparator.comparing(c -> c.timestamp));
-
-        double spamScore = calculateSpamScore(chats);
-        
-        if (spamScore >= 15) {
-            return true;
-        }
-        if (spamScore < 7) return false; 
-        
-        if (chats.size() >= threshold) {
-            for (int i = 0; i <= chats.size() - threshold; i++) {
-                Duration delta = Duration.between(
-                    chats.get(i).timestamp,
-                    chats.get(i + threshold - 1).timestamp
-                );
-                if (delta.toSeconds() <= minutes * 60) {
-                    return true;
-                }
-            }
-        }
-
-        int consecutiveDuplicates = 0;
-        for (int i = 0; i < chats.size() - 1; i++) {
-            if (chats.get(i).message.equals(chats.get(i + 1).message)) {
-                consecutiveDuplicates++;
-                if (consecutiveDuplicates >= 2) {
-                    return true;
-                }
-            } else {
-                consecutiveDuplicates = 0;
-            }
-        }
-        
-        return false;
-    }
-
-    private static double calculateSpamScore(List<Chat> chats) {
-        if (chats.size() < 2) return 10.0;
-        
-        double minutes = Duration.between(
-            chats.get(0).timestamp,
-            chats.get(chats.size()-1).timestamp
-        ).toMinutes();
-        minutes = Math.max(1, minutes);
-        double density = chats.size() / minutes;
-        
-        double spamPoints = 0;
-        for (int i = 0; i < chats.size() - 1; i++) {
-            Duration delta = Duration.between(chats.get(i).timestamp, chats.get(i + 1).timestamp);
+            Map<String, Analyzers.ActivitySummary> activities = activityByMeeting.get(m.meetingId);
+            if (activities == null) continue;
+            System.out.println("\n" + m.title + " (" + m.date + ") at " + m.location);
             
-            if (delta.toSeconds() <= 30) {
-                spamPoints += 5;
-                if (chats.get(i).message.equals(chats.get(i + 1).message)) {
-                    spamPoints += 10;
-                }
-            }
+            System.out.println("--------------------------------------------------");
+            System.out.printf("%-15s %-15s %-20s%n",
+                "Participant", "Activities", "Most Common Activity");
+            System.out.println("--------------------------------------------------");
+            
+            activities.forEach((participant, summary) ->
+                System.out.printf("%-15s %-15d %-20s%n",
+                    participant, summary.count, summary.mostCommon));
+            
+            Analyzers.AttendanceSummary summary = attendanceByMeeting.get(m.meetingId);
+            System.out.println("\nAttendance Summary:");
+            System.out.printf("- Present: %d, Late: %d, Absent: %d%n", summary.present, summary.late, summary.absent);
+            System.out.printf("- Attendance Rate: %.1f%%%n", summary.rate);
         }
-        
-        return Math.min(100, spamPoints + (density * 2));
     }
 
     private static String getMostActiveParticipant(Map<String, List<Chat>> chatsByParticipant) {
@@ -348,105 +391,23 @@ public class App {
             .orElse("None");
     }
 
-    private static void createDashboard() {
-        JFrame frame = new JFrame("StudTrack - Meeting Analytics Dashboard");
-        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        frame.setSize(1400, 950);
-        frame.setLayout(new GridLayout(3, 2, 10, 10));
-
-        // Dropdown for meeting selection
-        List<String> meetingOptions = new ArrayList<>();
-        meetingOptions.add(OVERALL);
-        meetingOptions.addAll(meetingMap.keySet());
-        JComboBox<String> meetingSelector = new JComboBox<>(meetingOptions.toArray(new String[0]));
-        meetingSelector.setFont(new Font("Arial", Font.BOLD, 16));
-        JPanel selectorPanel = new JPanel();
-        selectorPanel.add(meetingSelector);
-        frame.add(selectorPanel);
-
-        // Chart panels
-        JPanel barChartPanel = new JPanel();
-        JPanel pieChartPanel = new JPanel();
-        JPanel timelineChartPanel = new JPanel();
-        JPanel heatmapPanel = new JPanel();
-        JPanel chatChartPanel = new JPanel();
-        frame.add(barChartPanel);
-        frame.add(pieChartPanel);
-        frame.add(timelineChartPanel);
-        frame.add(heatmapPanel);
-        frame.add(chatChartPanel);
-
-        // Chart update logic
-        ActionListener updateCharts = new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                String selected = (String) meetingSelector.getSelectedItem();
-                Map<String, Long> participantTotalTime;
-                Map<String, List<Session>> participantSessions;
-                Map<String, Long> participantChatCounts;
-                Map<String, List<Chat>> participantChats;
-
-                if (selected.equals(OVERALL)) {
-                    participantTotalTime = getOverallTotalTime();
-                    participantSessions = getOverallSessions();
-                    participantChatCounts = getOverallChatCounts();
-                    participantChats = getOverallChats();
-                } else {
-                    Meeting m = meetingMap.get(selected);
-                    participantTotalTime = getMeetingTotalTime(m);
-                    participantSessions = getMeetingSessions(m);
-                    participantChatCounts = getMeetingChatCounts(m);
-                    participantChats = getMeetingChats(m);
-                }
-
-                frame.getContentPane().removeAll();
-                frame.add(selectorPanel);
-                frame.add(createBarChart(participantTotalTime));
-                frame.add(createPieChart(participantTotalTime));
-                frame.add(createTimelineChart(participantSessions));
-                frame.add(createHeatmapChart(participantSessions));
-                
-                // Only show chat-related charts for online meetings or overall view with chat data
-                if (selected.equals(OVERALL)) {
-                    // For overall view, only show chat charts if there are online meetings with chat data
-                    if (!participantChatCounts.isEmpty()) {
-                        frame.add(createChatChart(participantChatCounts));
-                        frame.add(createChatIntervalChart(participantChats));
-                    } else {
-                        // If no chat data, show empty panels or alternative charts
-                        frame.add(new JPanel());
-                        frame.add(new JPanel());
-                    }
-                } else if (meetingMap.containsKey(selected) && "online".equals(meetingMap.get(selected).type)) {
-                    frame.add(createChatChart(participantChatCounts));
-                    frame.add(createChatIntervalChart(participantChats));
-                } else {
-                    // For offline meetings, show attendance and activity charts instead
-                    Meeting m = meetingMap.get(selected);
-                    if ("offline".equals(m.type)) {
-                        frame.add(createAttendanceChart(m));
-                        frame.add(createActivityChart(m));
-                    }
-                }
-                
-                frame.revalidate();
-                frame.repaint();
-            }
-        };
-        meetingSelector.addActionListener(updateCharts);
-        meetingSelector.setSelectedIndex(0);
-        updateCharts.actionPerformed(null);
-
-        frame.setLocationRelativeTo(null);
-        frame.setVisible(true);
-        System.out.println("Dashboard opened! Use the dropdown to select a meeting or view overall trends.");
+    /** Parses a byte size such as 65536, 512k, 256m or 2g. */
+    static long parseSize(String size) {
+        String s = size.trim().toLowerCase();
+        long unit = 1;
+        if (s.endsWith("k")) unit = 1L << 10;
+        else if (s.endsWith("m")) unit = 1L << 20;
+        else if (s.endsWith("g")) unit = 1L << 30;
+        if (unit > 1) s = s.substring(0, s.length() - 1);
+        return Long.parseLong(s) * unit;
     }
 
-    private static Map<String, List<Chat>> getMeetingChats(Meeting m) {
+    /** Chats per sender, each list in timestamp order. */
+    static Map<String, List<Chat>> getMeetingChats(Meeting m) {
         return m.chats.stream().collect(Collectors.groupingBy(c -> c.sender));
     }
 
-    private static Map<String, Long> getMeetingTotalTime(Meeting m) {
+    static Map<String, Long> getMeetingTotalTime(Meeting m) {
         Map<String, Long> result = new HashMap<>();
         for (Participant p : m.participants) {
             if ("online".equals(m.type)) {
@@ -462,7 +423,7 @@ public class App {
         return result;
     }
 
-    private static Map<String, List<Session>> getMeetingSessions(Meeting m) {
+    static Map<String, List<Session>> getMeetingSessions(Meeting m) {
         Map<String, List<Session>> result = new HashMap<>();
         for (Participant p : m.participants) {
             if ("online".equals(m.type)) {
@@ -480,232 +441,40 @@ public class App {
         return result;
     }
 
-    private static Map<String, Long> getMeetingChatCounts(Meeting m) {
+    static Map<String, Long> getMeetingChatCounts(Meeting m) {
         return m.chats.stream().collect(Collectors.groupingBy(c -> c.sender, Collectors.counting()));
     }
 
-    private static Map<String, Long> getOverallTotalTime() {
-        Map<String, Long> result = new HashMap<>();
-        for (Meeting m : meetings) {
-            Map<String, Long> meetingTimes = getMeetingTotalTime(m);
-            for (Map.Entry<String, Long> entry : meetingTimes.entrySet()) {
-                result.merge(entry.getKey(), entry.getValue(), Long::sum);
-            }
-        }
-        return result;
-    }
-
-    private static Map<String, List<Session>> getOverallSessions() {
-        Map<String, List<Session>> result = new HashMap<>();
-        for (Meeting m : meetings) {
-            Map<String, List<Session>> meetingSessions = getMeetingSessions(m);
-            for (Map.Entry<String, List<Session>> entry : meetingSessions.entrySet()) {
-                result.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
-            }
-        }
-        return result;
-    }
-
-    private static Map<String, Long> getOverallChatCounts() {
-        Map<String, Long> result = new HashMap<>();
-        for (Meeting m : meetings) {
-            if ("online".equals(m.type)) {
-                Map<String, Long> meetingChats = getMeetingChatCounts(m);
-                for (Map.Entry<String, Long> entry : meetingChats.entrySet()) {
-                    result.merge(entry.getKey(), entry.getValue(), Long::sum);
-                }
-            }
-        }
-        return result;
-    }
-
-    private static Map<String, List<Chat>> getOverallChats() {
-        Map<String, List<Chat>> result = new HashMap<>();
-        for (Meeting m : meetings) {
-            if ("online".equals(m.type)) {
-                Map<String, List<Chat>> meetingChats = getMeetingChats(m);
-                for (Map.Entry<String, List<Chat>> entry : meetingChats.entrySet()) {
-                    result.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
-                }
-            }
-        }
-        return result;
+    /** Unmodifiable copy of list sorted by order; stable, so ties keep their input order. */
+    static <T> List<T> sortedCopy(List<T> list, Comparator<? super T> order) {
+        if (isSorted(list, order)) return List.copyOf(list);
+        List<T> copy = new ArrayList<>(list);
+        copy.sort(order);
+        return List.copyOf(copy);
     }
 
-    private static JPanel createPieChart(Map<String, Long> participantTotalTime) {
-        org.jfree.data.general.DefaultPieDataset dataset = new org.jfree.data.general.DefaultPieDataset();
-        participantTotalTime.forEach((name, seconds) ->
-            dataset.setValue(name, seconds / 60.0));
-        JFreeChart chart = ChartFactory.createPieChart(
-            "Meeting Time Distribution", dataset, true, true, false);
-        chart.setBackgroundPaint(new Color(255, 250, 240));
-        return new ChartPanel(chart) {{
-            setPreferredSize(new Dimension(600, 400));
-        }};
+    /** list itself when it is already in order, otherwise a sorted copy; never sorts in place. */
+    static <T> List<T> inOrder(List<T> list, Comparator<? super T> order) {
+        if (isSorted(list, order)) return list;
+        List<T> copy = new ArrayList<>(list);
+        copy.sort(order);
+        return copy;
     }
 
-    private static JPanel createHeatmapChart(Map<String, List<Session>> participantSessions) {
-        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        
-        for (Map.Entry<String, List<Session>> entry : participantSessions.entrySet()) {
-            for (Session session : entry.getValue()) {
-                String timeSlot = session.join.getHour() + ":00";
-                dataset.addValue(1, entry.getKey(), timeSlot);
-            }
+    static <T> boolean isSorted(List<T> list, Comparator<? super T> order) {
+        for (int i = 1; i < list.size(); i++) {
+            if (order.compare(list.get(i - 1), list.get(i)) > 0) return false;
         }
-        JFreeChart chart = ChartFactory.createStackedBarChart(
-            "Attendance Heatmap (by Hour)", "Hour", "Sessions",
-            dataset, PlotOrientation.VERTICAL, true, true, false);
-        chart.setBackgroundPaint(new Color(255, 240, 245));
-        return new ChartPanel(chart) {{
-            setPreferredSize(new Dimension(600, 400));
-        }};
-    }
-
-    private static JPanel createChatChart(Map<String, Long> participantChatCounts) {
-        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        participantChatCounts.forEach((name, count) ->
-            dataset.addValue(count, "Chat Messages", name));
-        JFreeChart chart = ChartFactory.createBarChart(
-            "Chat Messages by Participant", "Participants", "Messages",
-            dataset, PlotOrientation.VERTICAL, true, true, false);
-        chart.setBackgroundPaint(new Color(240, 255, 255));
-        return new ChartPanel(chart) {{
-            setPreferredSize(new Dimension(600, 400));
-        }};
+        return true;
     }
 
-    private static JPanel createBarChart(Map<String, Long> participantTotalTime) {
-        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        participantTotalTime.forEach((name, seconds) -> 
-            dataset.addValue(seconds / 60.0, "Meeting Time (minutes)", name));
-        JFreeChart chart = ChartFactory.createBarChart(
-            "Total Meeting Time by Participant", "Participants", "Time (minutes)",
-            dataset, PlotOrientation.VERTICAL, true, true, false);
-        chart.setBackgroundPaint(new Color(240, 248, 255));
-        return new ChartPanel(chart) {{
-            setPreferredSize(new Dimension(600, 400));
-        }};
-    }
-
-
-
-    private static JPanel createAttendanceChart(Meeting m) {
-        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        
-        Map<String, Long> statusCounts = new HashMap<>();
-        for (Participant p : m.participants) {
-            if (p.attendance != null) {
-                statusCounts.merge(p.attendance.status, 1L, Long::sum);
-            }
-        }
-        
-        for (Map.Entry<String, Long> entry : statusCounts.entrySet()) {
-            dataset.addValue(entry.getValue(), "Count", entry.getKey().toUpperCase());
-        }
-
-        JFreeChart chart = ChartFactory.createBarChart(
-            "Attendance Status - " + m.title, "Status", "Count",
-            dataset, PlotOrientation.VERTICAL, true, true, false);
-        chart.setBackgroundPaint(new Color(255, 250, 240));
-        return new ChartPanel(chart) {{
-            setPreferredSize(new Dimension(600, 400));
-        }};
-    }
-
-    private static JPanel createActivityChart(Meeting m) {
-        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        
-        Map<String, Long> activityCounts = m.activities.stream()
-            .collect(Collectors.groupingBy(a -> a.activity, Collectors.counting()));
-        
-        for (Map.Entry<String, Long> entry : activityCounts.entrySet()) {
-            dataset.addValue(entry.getValue(), "Count", entry.getKey());
-        }
-
-        JFreeChart chart = ChartFactory.createBarChart(
-            "Activity Distribution - " + m.title, "Activity", "Count",
-            dataset, PlotOrientation.VERTICAL, true, true, false);
-        chart.setBackgroundPaint(new Color(240, 255, 255));
-        return new ChartPanel(chart) {{
-            setPreferredSize(new Dimension(600, 400));
-        }};
-    }
-
-    private static JPanel createTimelineChart(Map<String, List<Session>> participantSessions) {
-        XYSeriesCollection dataset = new XYSeriesCollection();
-        int idx = 1;
-        for (Map.Entry<String, List<Session>> entry : participantSessions.entrySet()) {
-            XYSeries series = new XYSeries(entry.getKey());
-            for (Session session : entry.getValue()) {
-                long start = session.join.atZone(java.time.ZoneId.systemDefault()).toEpochSecond();
-                long end = session.leave.atZone(java.time.ZoneId.systemDefault()).toEpochSecond();
-                series.add(start, idx);
-                series.add(end, idx);
-            }
-            dataset.addSeries(series);
-            idx++;
-        }
-        JFreeChart chart = ChartFactory.createXYLineChart(
-            "Participant Timeline", "Time (epoch seconds)", "Participant Index",
-            dataset, PlotOrientation.HORIZONTAL, true, true, false);
-        chart.setBackgroundPaint(new Color(245, 255, 250));
-        return new ChartPanel(chart) {{
-            setPreferredSize(new Dimension(600, 400));
-        }};
-    }
-
-    private static JPanel createChatIntervalChart(Map<String, List<Chat>> participantChats) {
-    DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-    
-    participantChats.forEach((participant, chats) -> {
-        if (!chats.isEmpty()) {
-            chats.sort(Comparator.comparing(c -> c.timestamp));
-            
-            // Calculate raw metrics
-            double duration = Math.max(1, 
-                Duration.between(
-                    chats.get(0).timestamp,
-                    chats.get(chats.size()-1).timestamp
-                ).toMinutes());
-            
-            double totalChats = chats.size();
-            double ratePer10Min = (chats.size() / duration) * 10;
-            double spamScore = calculateSpamScore(chats);
-            
-            // Add raw values to dataset
-            dataset.addValue(totalChats, "Total Messages", participant);
-            dataset.addValue(ratePer10Min, "Rate (per 10min)", participant);
-            dataset.addValue(spamScore, "Spam Score (0-100)", participant);
-        }
-    });
-
-    JFreeChart chart = ChartFactory.createBarChart(
-        "Chat Participation Metrics", 
-        "Participants", 
-        "Values", 
-        dataset, 
-        PlotOrientation.VERTICAL, 
-        true, 
-        true, 
-        false
-    );
-
-    // Basic styling
-    chart.setBackgroundPaint(Color.WHITE);
-    CategoryPlot plot = chart.getCategoryPlot();
-    plot.setBackgroundPaint(Color.WHITE);
-    
-    return new ChartPanel(chart) {{
-        setPreferredSize(new Dimension(600, 400));
-    }};
-}
-
+    // Immutable once built: chats are sorted by timestamp and sessions by join at
+    // construction, so readers can rely on the order and never need to sort or copy
     static class Meeting {
-        String meetingId, title, date, type, location;
-        List<Participant> participants;
-        List<Chat> chats;
-        List<Activity> activities;
+        final String meetingId, title, date, type, location;
+        final List<Participant> participants;
+        final List<Chat> chats;
+        final List<Activity> activities;
         
         Meeting(String meetingId, String title, String date, String type, String location,
                List<Participant> participants, List<Chat> chats, List<Activity> activities) {
@@ -714,27 +483,29 @@ public class App {
             this.date = date;
             this.type = type;
             this.location = location;
-            this.participants = participants;
-            this.chats = chats;
-            this.activities = activities;
+            this.participants = List.copyOf(participants);
+            this.chats = sortedCopy(chats, Chat.BY_TIME);
+            this.activities = List.copyOf(activities);
         }
     }
 
     static class Participant {
-        String name;
-        List<Session> sessions;
-        Attendance attendance;
+        final String name;
+        final List<Session> sessions;
+        final Attendance attendance;
         
         Participant(String name, List<Session> sessions, Attendance attendance) {
             this.name = name;
-            this.sessions = sessions;
+            this.sessions = sortedCopy(sessions, Session.BY_JOIN);
             this.attendance = attendance;
         }
     }
 
     static class Session {
-        LocalDateTime join, leave;
-        long durationSeconds;
+        static final Comparator<Session> BY_JOIN = Comparator.comparing(s -> s.join);
+
+        final LocalDateTime join, leave;
+        final long durationSeconds;
         
         Session(LocalDateTime join, LocalDateTime leave, long durationSeconds) {
             this.join = join;
@@ -744,9 +515,9 @@ public class App {
     }
 
     static class Attendance {
-        String status;
-        LocalDateTime checkIn, checkOut;
-        int lateByMinutes, earlyLeaveMinutes;
+        final String status;
+        final LocalDateTime checkIn, checkOut;
+        final int lateByMinutes, earlyLeaveMinutes;
         
         Attendance(String status, LocalDateTime checkIn, LocalDateTime checkOut, 
                   int lateByMinutes, int earlyLeaveMinutes) {
@@ -759,19 +530,26 @@ public class App {
     }
 
     static class Chat {
-        LocalDateTime timestamp;
-        String sender, message;
+        static final Comparator<Chat> BY_TIME = Comparator.comparing(c -> c.timestamp);
+
+        final LocalDateTime timestamp;
+        final String sender;
+        final MessageTable.Message text; // shared MessageTable entry; equal texts are the same object
         
         Chat(LocalDateTime timestamp, String sender, String message) {
             this.timestamp = timestamp;
             this.sender = sender;
-            this.message = message;
+            this.text = MessageTable.intern(message);
+        }
+
+        String message() {
+            return text.text();
         }
     }
 
     static class Activity {
-        LocalDateTime timestamp;
-        String participant, activity;
+        final LocalDateTime timestamp;
+        final String participant, activity;
         
         Activity(LocalDateTime timestamp, String participant, String activity) {
             this.timestamp = timestamp;
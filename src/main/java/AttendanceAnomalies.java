@@ -0,0 +1,202 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Single-pass anomaly detection over offline check-in/check-out records.
+ *
+ * Flagged records are written as they are found. Per participant only
+ * running lateness statistics and the recent attended intervals are kept,
+ * indexed by check-in time, so overlaps are found however many intervals lie
+ * between them. Records are assumed to arrive roughly in time order: an
+ * interval is dropped once it ends more than {@link #setHorizon the horizon}
+ * before the participant's newest check-in, so memory grows with the
+ * participants and the intervals inside the horizon, not with the rows. A
+ * record that arrives later than the horizon is not checked for overlaps
+ * with the intervals already dropped.
+ *
+ * Detected:
+ *   IMPOSSIBLE_TIMELINE  check-out before check-in
+ *   STATUS_MISMATCH      absent with a check-in, or present/late without one
+ *   ROOM_OVERLAP         attended two locations at overlapping times
+ *   LATE_OUTLIER         lateness far above the participant's or everyone's norm
+ *   CHRONIC_LATENESS     late in most offline meetings (reported at the end)
+ */
+public class AttendanceAnomalies {
+    static final double OUTLIER_Z = 3.0;
+    static final int MIN_SAMPLES = 5;
+    static final double CHRONIC_LATE_RATIO = 0.5;
+    static final int CHRONIC_MIN_MEETINGS = 3;
+    static final Duration DEFAULT_HORIZON = Duration.ofDays(7);
+
+    private static volatile Duration horizon = DEFAULT_HORIZON;
+
+    private final PrintWriter out;
+    private final Map<String, ParticipantState> states = new HashMap<>();
+    private final RunningStats globalLateness = new RunningStats();
+    private long records = 0;
+    private long flagged = 0;
+
+    public AttendanceAnomalies(PrintWriter out) {
+        this.out = out;
+        out.println("meeting_id\tdate\tlocation\tparticipant\tanomaly\tdetail");
+    }
+
+    /** How far out of time order a record may arrive and still be checked for room overlaps. */
+    public static void setHorizon(Duration value) {
+        horizon = value;
+    }
+
+    /** Runs the detector over all meetings and writes the flagged records to filename. */
+    public static long writeReport(Iterable<App.Meeting> meetings, String filename) throws IOException {
+        try (PrintWriter writer = DataFiles.newWriter(filename)) {
+            AttendanceAnomalies detector = new AttendanceAnomalies(writer);
+            for (App.Meeting m : meetings) {
+                detector.accept(m);
+            }
+            detector.finish();
+            System.out.println("✅ Attendance anomaly report generated: " + DataFiles.outputName(filename)
+                + " (" + detector.flagged + " flagged of " + detector.records + " records)");
+            return detector.flagged;
+        }
+    }
+
+    public void accept(App.Meeting meeting) {
+        if (!"offline".equals(meeting.type)) return;
+        for (App.Participant p : meeting.participants) {
+            if (p.attendance == null) continue;
+            records++;
+            check(meeting, p.name, p.attendance);
+        }
+    }
+
+    private void check(App.Meeting m, String name, App.Attendance a) {
+        ParticipantState state = states.computeIfAbsent(name, k -> new ParticipantState());
+        state.offlineMeetings++;
+        boolean attended = "present".equals(a.status) || "late".equals(a.status);
+
+        if (a.checkIn != null && a.checkOut != null && a.checkOut.isBefore(a.checkIn)) {
+            flag(m, name, "IMPOSSIBLE_TIMELINE", "check-out " + a.checkOut + " before check-in " + a.checkIn);
+        }
+        if ("absent".equals(a.status) && a.checkIn != null) {
+            flag(m, name, "STATUS_MISMATCH", "absent but checked in at " + a.checkIn);
+        } else if (attended && a.checkIn == null) {
+            flag(m, name, "STATUS_MISMATCH", a.status + " without a check-in");
+        }
+
+        if (a.checkIn != null && a.checkOut != null && !a.checkOut.isBefore(a.checkIn)) {
+            // Only intervals starting after checkIn - longest can still be open at checkIn
+            for (List<Interval> starting : state.intervals
+                    .subMap(a.checkIn.minus(state.longest), true, a.checkOut, false).values()) {
+                for (Interval previous : starting) {
+                    if (!previous.location.equals(m.location)
+                            && a.checkIn.isBefore(previous.end) && previous.start.isBefore(a.checkOut)) {
+                        flag(m, name, "ROOM_OVERLAP", "also at " + previous.location + " (" + previous.meetingId
+                            + ") " + previous.start + " - " + previous.end);
+                    }
+                }
+            }
+            state.intervals.computeIfAbsent(a.checkIn, k -> new ArrayList<>(1))
+                .add(new Interval(m.meetingId, m.location, a.checkIn, a.checkOut));
+            Duration length = Duration.between(a.checkIn, a.checkOut);
+            if (length.compareTo(state.longest) > 0) {
+                state.longest = length;
+            }
+            if (state.newest == null || a.checkIn.isAfter(state.newest)) {
+                state.newest = a.checkIn;
+                // Intervals starting before this ended before newest - horizon
+                state.intervals.headMap(state.newest.minus(horizon).minus(state.longest)).clear();
+            }
+        }
+
+        if (attended) {
+            double late = a.lateByMinutes;
+            if (late > 0 && (state.lateness.isOutlier(late) || globalLateness.isOutlier(late))) {
+                flag(m, name, "LATE_OUTLIER", String.format("late by %d minutes (participant mean %.1f, overall mean %.1f)",
+                    a.lateByMinutes, state.lateness.mean, globalLateness.mean));
+            }
+            state.lateness.add(late);
+            globalLateness.add(late);
+            if (late > 0 || "late".equals(a.status)) {
+                state.lateMeetings++;
+            }
+        }
+    }
+
+    /** Emits the end-of-stream per-participant findings. */
+    public void finish() {
+        states.forEach((name, state) -> {
+            if (state.offlineMeetings >= CHRONIC_MIN_MEETINGS
+                    && state.lateMeetings >= CHRONIC_LATE_RATIO * state.offlineMeetings) {
+                flagged++;
+                out.printf("-\t-\t-\t%s\tCHRONIC_LATENESS\tlate in %d of %d offline meetings (mean %.1f minutes)%n",
+                    name, state.lateMeetings, state.offlineMeetings, state.lateness.mean);
+            }
+        });
+        out.flush();
+    }
+
+    /** Attended intervals currently held across all participants. */
+    long retainedIntervals() {
+        long count = 0;
+        for (ParticipantState state : states.values()) {
+            for (List<Interval> starting : state.intervals.values()) count += starting.size();
+        }
+        return count;
+    }
+
+    private void flag(App.Meeting m, String name, String anomaly, String detail) {
+        flagged++;
+        out.printf("%s\t%s\t%s\t%s\t%s\t%s%n", m.meetingId, m.date, m.location, name, anomaly, detail);
+    }
+
+    private static class ParticipantState {
+        final RunningStats lateness = new RunningStats();
+        final TreeMap<LocalDateTime, List<Interval>> intervals = new TreeMap<>();
+        Duration longest = Duration.ZERO;
+        LocalDateTime newest = null;
+        int offlineMeetings = 0;
+        int lateMeetings = 0;
+    }
+
+    private static class Interval {
+        final String meetingId, location;
+        final LocalDateTime start, end;
+
+        Interval(String meetingId, String location, LocalDateTime start, LocalDateTime end) {
+            this.meetingId = meetingId;
+            this.location = location;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /** Welford's online mean and variance. */
+    static class RunningStats {
+        long n = 0;
+        double mean = 0;
+        double m2 = 0;
+
+        void add(double x) {
+            n++;
+            double delta = x - mean;
+            mean += delta / n;
+            m2 += delta * (x - mean);
+        }
+
+        double stddev() {
+            return n < 2 ? 0 : Math.sqrt(m2 / (n - 1));
+        }
+
+        boolean isOutlier(double x) {
+            double sd = stddev();
+            return n >= MIN_SAMPLES && sd > 0 && (x - mean) / sd > OUTLIER_Z;
+        }
+    }
+}
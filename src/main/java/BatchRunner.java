@@ -0,0 +1,242 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Runs many report jobs against one loaded dataset.
+ *
+ * The job spec is a JSON file:
+ * <pre>
+ * {
+ *   "threads": 4,            // report workers (default: cores)
+ *   "max_writes": 2,         // files written at the same time (default: 2)
+ *   "jobs": [
+ *     { "name": "lab-101", "kind": "report", "output": "reports/lab101.txt",
+ *       "type": "offline", "location": "Lab 101", "title": "Science",
+ *       "from": "2025-07-01", "to": "2025-07-31",
+ *       "meetings": ["M2"], "participants": ["Alice", "Bob"] }
+ *   ]
+ * }
+ * </pre>
+ * "kind" is report (default), anomalies or stats (output is a directory).
+ * All filters are optional and combine with AND; "participants" selects the
+ * meetings any of them took part in, with each name resolved through the same
+ * IdentityResolver as the data, so "alice s" finds "Alice S.".
+ *
+ * Meetings are indexed by type, location and participant once. Jobs render
+ * in memory on a fixed pool whose queue is bounded (the submitter runs a job
+ * itself when it is full), and a semaphore caps concurrent file writes so
+ * slow storage throttles rendering instead of piling up finished reports.
+ */
+public class BatchRunner {
+    static final int QUEUE_PER_THREAD = 2;
+
+    private final Dataset dataset;
+    private final Map<String, List<App.Meeting>> byType = new HashMap<>();
+    private final Map<String, List<App.Meeting>> byLocation = new HashMap<>();
+    private final Map<String, List<App.Meeting>> byParticipant = new HashMap<>();
+    private final Semaphore writes;
+
+    BatchRunner(Dataset dataset, int maxWrites) {
+        this.dataset = dataset;
+        this.writes = new Semaphore(Math.max(1, maxWrites));
+        for (App.Meeting m : dataset.meetings()) {
+            byType.computeIfAbsent(m.type, k -> new ArrayList<>()).add(m);
+            byLocation.computeIfAbsent(m.location, k -> new ArrayList<>()).add(m);
+            Set<String> names = new LinkedHashSet<>();
+            for (App.Participant p : m.participants) names.add(p.name);
+            for (String name : names) {
+                byParticipant.computeIfAbsent(name, k -> new ArrayList<>()).add(m);
+            }
+        }
+    }
+
+    /** Runs every job in the spec, prints per-job timings and returns the number of failed jobs. */
+    public static int run(Dataset dataset, Path spec, IdentityResolver identities) throws Exception {
+        JsonNode root = Json.MAPPER.readTree(spec.toFile());
+        int threads = root.path("threads").asInt(Runtime.getRuntime().availableProcessors());
+        int maxWrites = root.path("max_writes").asInt(2);
+        List<Job> jobs = new ArrayList<>();
+        for (JsonNode node : root.path("jobs")) {
+            jobs.add(new Job(node, identities));
+        }
+
+        BatchRunner runner = new BatchRunner(dataset, maxWrites);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(threads * QUEUE_PER_THREAD), new ThreadPoolExecutor.CallerRunsPolicy());
+        long batchStart = System.nanoTime();
+        List<Future<JobResult>> futures = new ArrayList<>();
+        try {
+            for (Job job : jobs) {
+                futures.add(pool.submit(() -> runner.execute(job)));
+            }
+            System.out.printf("%-24s %-10s %8s %10s %10s %12s  %s%n",
+                "JOB", "KIND", "MEETINGS", "RENDER_MS", "WRITE_MS", "BYTES", "STATUS");
+            int failed = 0;
+            for (Future<JobResult> future : futures) {
+                JobResult r = future.get();
+                if (!r.ok) failed++;
+                System.out.printf("%-24s %-10s %8d %10.1f %10.1f %12d  %s%n",
+                    r.job.name, r.job.kind, r.meetings, r.renderNanos / 1e6, r.writeNanos / 1e6, r.bytes, r.status);
+            }
+            System.out.printf("%s Batch finished: %d jobs, %d failed, %.1f s%n",
+                failed == 0 ? "✅" : "❌", jobs.size(), failed, (System.nanoTime() - batchStart) / 1e9);
+            return failed;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    JobResult execute(Job job) {
+        JobResult result = new JobResult(job);
+        try {
+            List<App.Meeting> meetings = select(job);
+            result.meetings = meetings.size();
+            if (meetings.isEmpty()) {
+                result.status = "skipped: no matching meetings";
+                result.ok = true;
+                return result;
+            }
+            // Keeps the full dataset's per-meeting summaries and presence cubes
+            Dataset selected = new Dataset(meetings, dataset);
+            long renderStart = System.nanoTime();
+            if ("stats".equals(job.kind)) {
+                // Written straight to the output directory, so it counts as one long write
+                writes.acquire();
+                try {
+                    StatsExporter.exportAll(selected, Path.of(job.output));
+                } finally {
+                    writes.release();
+                }
+                result.writeNanos = System.nanoTime() - renderStart;
+                result.status = "ok";
+                result.ok = true;
+                return result;
+            }
+
+            StringWriter text = new StringWriter();
+            try (PrintWriter writer = new PrintWriter(text)) {
+                if ("anomalies".equals(job.kind)) {
+                    AttendanceAnomalies detector = new AttendanceAnomalies(writer);
+                    for (App.Meeting m : meetings) detector.accept(m);
+                    detector.finish();
+                } else {
+                    ReportGenerator.writeComprehensiveReport(writer, selected);
+                }
+            }
+            byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+            result.renderNanos = System.nanoTime() - renderStart;
+
+            long writeStart = System.nanoTime();
+            writes.acquire();
+            try {
+                Path parent = Path.of(job.output).toAbsolutePath().getParent();
+                if (parent != null) Files.createDirectories(parent);
+                try (OutputStream out = DataFiles.newOutputStream(job.output)) {
+                    out.write(bytes);
+                }
+            } finally {
+                writes.release();
+            }
+            result.writeNanos = System.nanoTime() - writeStart;
+            result.bytes = bytes.length;
+            result.status = "ok -> " + DataFiles.outputName(job.output);
+            result.ok = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.status = "interrupted";
+        } catch (IOException | RuntimeException e) {
+            result.status = "failed: " + e;
+        }
+        return result;
+    }
+
+    /** Starts from the most selective index that applies, then filters the rest. */
+    List<App.Meeting> select(Job job) {
+        List<App.Meeting> candidates = dataset.meetings();
+        if (!job.participants.isEmpty()) {
+            Set<App.Meeting> union = new LinkedHashSet<>();
+            for (String name : job.participants) {
+                union.addAll(byParticipant.getOrDefault(name, List.of()));
+            }
+            candidates = new ArrayList<>(union);
+        } else if (job.location != null) {
+            candidates = byLocation.getOrDefault(job.location, List.of());
+        } else if (job.type != null) {
+            candidates = byType.getOrDefault(job.type, List.of());
+        }
+
+        List<App.Meeting> selected = new ArrayList<>();
+        for (App.Meeting m : candidates) {
+            if (job.type != null && !job.type.equals(m.type)) continue;
+            if (job.location != null && !job.location.equals(m.location)) continue;
+            if (job.title != null && !m.title.contains(job.title)) continue;
+            if (job.from != null && m.date.compareTo(job.from) < 0) continue;
+            if (job.to != null && m.date.compareTo(job.to) > 0) continue;
+            if (!job.meetingIds.isEmpty() && !job.meetingIds.contains(m.meetingId)) continue;
+            selected.add(m);
+        }
+        return selected;
+    }
+
+    static class Job {
+        final String name, kind, output;
+        final String type, location, title, from, to;
+        final Set<String> meetingIds = new LinkedHashSet<>();
+        final Set<String> participants = new LinkedHashSet<>();
+
+        Job(JsonNode node, IdentityResolver identities) {
+            this.name = node.path("name").asText("job");
+            this.kind = node.path("kind").asText("report");
+            if (!kind.equals("report") && !kind.equals("anomalies") && !kind.equals("stats")) {
+                throw new IllegalArgumentException("Unknown job kind for " + name + ": " + kind);
+            }
+            if (!node.hasNonNull("output")) {
+                throw new IllegalArgumentException("Job " + name + " has no output");
+            }
+            this.output = node.get("output").asText();
+            this.type = textOrNull(node, "type");
+            this.location = textOrNull(node, "location");
+            this.title = textOrNull(node, "title");
+            this.from = textOrNull(node, "from");
+            this.to = textOrNull(node, "to");
+            node.path("meetings").forEach(id -> meetingIds.add(id.asText()));
+            node.path("participants").forEach(p -> participants.add(identities.resolve(p.asText())));
+        }
+
+        private static String textOrNull(JsonNode node, String field) {
+            return node.hasNonNull(field) ? node.get(field).asText() : null;
+        }
+    }
+
+    static class JobResult {
+        final Job job;
+        int meetings = 0;
+        long renderNanos = 0;
+        long writeNanos = 0;
+        long bytes = 0;
+        boolean ok = false;
+        String status = "";
+
+        JobResult(Job job) {
+            this.job = job;
+        }
+    }
+}
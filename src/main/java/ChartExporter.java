@@ -0,0 +1,109 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jfree.chart.ChartUtils;
+import org.jfree.chart.JFreeChart;
+
+/**
+ * Headless bulk export of the dashboard charts as PNG files.
+ * Each meeting (plus the overall view) is one task on a worker pool: its
+ * aggregates are computed once and shared by every chart built from them,
+ * and all of its images are encoded in memory before being written out.
+ */
+public class ChartExporter {
+    static final int WIDTH = 600;
+    static final int HEIGHT = 400;
+
+    /** Exports all charts into outDir and returns the number of files written. */
+    public static int exportAll(Dataset dataset, Path outDir, int threads) throws Exception {
+        if (!Boolean.getBoolean("java.awt.headless")) {
+            System.setProperty("java.awt.headless", "true");
+        }
+        Files.createDirectories(outDir);
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            futures.add(pool.submit(() -> write(outDir, "overall", overallCharts(dataset))));
+            for (App.Meeting m : dataset.meetings()) {
+                futures.add(pool.submit(() -> write(outDir, m.meetingId, meetingCharts(dataset, m))));
+            }
+            int written = 0;
+            for (Future<Integer> future : futures) {
+                written += future.get();
+            }
+            return written;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static Map<String, JFreeChart> meetingCharts(Dataset dataset, App.Meeting m) {
+        long start = Metrics.start();
+        Map<String, Long> totalTime = App.getMeetingTotalTime(m);
+        Map<String, List<App.Session>> sessions = App.getMeetingSessions(m);
+
+        Map<String, JFreeChart> charts = new LinkedHashMap<>();
+        charts.put("bar", Dashboard.buildBarChart(totalTime));
+        charts.put("pie", Dashboard.buildPieChart(totalTime));
+        charts.put("timeline", Dashboard.buildTimelineChart(sessions));
+        charts.put("heatmap", Dashboard.buildPresenceHeatmapChart(dataset.presence(m)));
+        if ("online".equals(m.type)) {
+            charts.put("chat", Dashboard.buildChatChart(App.getMeetingChatCounts(m)));
+            charts.put("chat_metrics", Dashboard.buildChatIntervalChart(App.getMeetingChats(m)));
+        } else {
+            charts.put("attendance", Dashboard.buildAttendanceChart(m));
+            charts.put("activity", Dashboard.buildActivityChart(m));
+        }
+        Metrics.stop("export.build_charts", start);
+        return charts;
+    }
+
+    static Map<String, JFreeChart> overallCharts(Dataset dataset) {
+        long start = Metrics.start();
+        ParticipantAggregates overall = ParticipantAggregates.of(dataset.meetings());
+        Map<String, Long> totalTime = overall.totalTime();
+        Map<String, List<App.Session>> sessions = overall.sessions();
+        Map<String, Long> chatCounts = overall.chatCounts();
+
+        Map<String, JFreeChart> charts = new LinkedHashMap<>();
+        charts.put("bar", Dashboard.buildBarChart(totalTime));
+        charts.put("pie", Dashboard.buildPieChart(totalTime));
+        charts.put("timeline", Dashboard.buildTimelineChart(sessions));
+        charts.put("heatmap", Dashboard.buildHeatmapChart(sessions));
+        if (!chatCounts.isEmpty()) {
+            charts.put("chat", Dashboard.buildChatChart(chatCounts));
+            charts.put("chat_metrics", Dashboard.buildChatIntervalChart(overall.chats()));
+        }
+        charts.put("trend", Dashboard.buildTrendChart(EngagementTrends.build(dataset.meetings())));
+        Metrics.stop("export.build_charts", start);
+        return charts;
+    }
+
+    private static int write(Path outDir, String prefix, Map<String, JFreeChart> charts) throws IOException {
+        long start = Metrics.start();
+        String safePrefix = prefix.replaceAll("[^A-Za-z0-9_.-]", "_");
+        Map<Path, byte[]> images = new LinkedHashMap<>();
+        for (Map.Entry<String, JFreeChart> entry : charts.entrySet()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(32 * 1024);
+            ChartUtils.writeChartAsPNG(out, entry.getValue(), WIDTH, HEIGHT);
+            images.put(outDir.resolve(safePrefix + "_" + entry.getKey() + ".png"), out.toByteArray());
+        }
+        Metrics.stop("export.render", start);
+
+        for (Map.Entry<Path, byte[]> image : images.entrySet()) {
+            Files.write(image.getKey(), image.getValue());
+            Metrics.count("export.bytes_written", image.getValue().length);
+        }
+        return images.size();
+    }
+}
@@ -0,0 +1,452 @@
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.GridLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.swing.DefaultComboBoxModel;
+import javax.swing.JComboBox;
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.SymbolAxis;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.LookupPaintScale;
+import org.jfree.chart.renderer.xy.XYBlockRenderer;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.xy.DefaultXYZDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+/**
+ * The Swing dashboard and the JFreeChart builders behind it.
+ *
+ * Kept out of {@link App} so that Swing and JFreeChart are only loaded when
+ * the dashboard opens or charts are exported: verifying App used to pull in
+ * their class hierarchies before the first line of console output.
+ */
+public class Dashboard {
+    // Set once the dashboard is open; redraws it after watch mode swaps in a new dataset
+    private static volatile Runnable onDatasetChanged = null;
+
+    /** Opens the dashboard on the event dispatch thread. */
+    static void openLater() {
+        SwingUtilities.invokeLater(Dashboard::open);
+    }
+
+    /** Redraws the open dashboard from {@link App#dataset} on the event dispatch thread. */
+    static void refreshLater() {
+        Runnable refresh = onDatasetChanged;
+        if (refresh != null) {
+            SwingUtilities.invokeLater(refresh);
+        }
+    }
+
+    static void open() {
+        JFrame frame = new JFrame("StudTrack - Meeting Analytics Dashboard");
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setSize(1400, 950);
+        frame.setLayout(new GridLayout(4, 2, 10, 10));
+
+        // Dropdown for meeting selection
+        List<String> meetingOptions = new ArrayList<>();
+        meetingOptions.add(App.OVERALL);
+        meetingOptions.addAll(App.dataset.meetingMap().keySet());
+        JComboBox<String> meetingSelector = new JComboBox<>(meetingOptions.toArray(new String[0]));
+        meetingSelector.setFont(new Font("Arial", Font.BOLD, 16));
+        JPanel selectorPanel = new JPanel();
+        selectorPanel.add(meetingSelector);
+        frame.add(selectorPanel);
+
+        // Chart panels
+        JPanel barChartPanel = new JPanel();
+        JPanel pieChartPanel = new JPanel();
+        JPanel timelineChartPanel = new JPanel();
+        JPanel heatmapPanel = new JPanel();
+        JPanel chatChartPanel = new JPanel();
+        frame.add(barChartPanel);
+        frame.add(pieChartPanel);
+        frame.add(timelineChartPanel);
+        frame.add(heatmapPanel);
+        frame.add(chatChartPanel);
+
+        // Chart update logic
+        ActionListener updateCharts = new ActionListener() {
+            private String renderedSelection = null;
+            private Object renderedData = null;
+
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                String selected = (String) meetingSelector.getSelectedItem();
+                if (selected == null) return;
+                Dataset data = App.dataset;
+                Map<String, App.Meeting> meetingMap = data.meetingMap();
+                // Redraw only when the selection or the data behind it changed: an unchanged
+                // meeting keeps its Meeting object across reloads, the overall view follows the dataset
+                Object selectedData = selected.equals(App.OVERALL) ? data : meetingMap.get(selected);
+                if (selectedData == null || (selected.equals(renderedSelection) && selectedData == renderedData)) {
+                    return;
+                }
+                renderedSelection = selected;
+                renderedData = selectedData;
+                long refreshStart = Metrics.start();
+                Map<String, Long> participantTotalTime;
+                Map<String, List<App.Session>> participantSessions;
+                Map<String, Long> participantChatCounts;
+                Map<String, List<App.Chat>> participantChats;
+                PresenceCube presence = null;
+
+                if (selected.equals(App.OVERALL)) {
+                    ParticipantAggregates overall = ParticipantAggregates.of(data.meetings());
+                    participantTotalTime = overall.totalTime();
+                    participantSessions = overall.sessions();
+                    participantChatCounts = overall.chatCounts();
+                    participantChats = overall.chats();
+                } else {
+                    App.Meeting m = meetingMap.get(selected);
+                    participantTotalTime = App.getMeetingTotalTime(m);
+                    participantSessions = App.getMeetingSessions(m);
+                    participantChatCounts = App.getMeetingChatCounts(m);
+                    participantChats = App.getMeetingChats(m);
+                    presence = data.presence(m);
+                }
+
+                frame.getContentPane().removeAll();
+                frame.add(selectorPanel);
+                frame.add(createBarChart(participantTotalTime));
+                frame.add(createPieChart(participantTotalTime));
+                frame.add(createTimelineChart(participantSessions));
+                // Meetings get the per-minute presence heatmap; the overall view spans days, so hours
+                frame.add(presence != null ? createPresenceHeatmapChart(presence) : createHeatmapChart(participantSessions));
+                
+                // Only show chat-related charts for online meetings or overall view with chat data
+                if (selected.equals(App.OVERALL)) {
+                    // For overall view, only show chat charts if there are online meetings with chat data
+                    if (!participantChatCounts.isEmpty()) {
+                        frame.add(createChatChart(participantChatCounts));
+                        frame.add(createChatIntervalChart(participantChats));
+                    } else {
+                        // If no chat data, show empty panels or alternative charts
+                        frame.add(new JPanel());
+                        frame.add(new JPanel());
+                    }
+                    frame.add(createTrendChart(EngagementTrends.build(data.meetings())));
+                } else if (meetingMap.containsKey(selected) && "online".equals(meetingMap.get(selected).type)) {
+                    frame.add(createChatChart(participantChatCounts));
+                    frame.add(createChatIntervalChart(participantChats));
+                } else {
+                    // For offline meetings, show attendance and activity charts instead
+                    App.Meeting m = meetingMap.get(selected);
+                    if ("offline".equals(m.type)) {
+                        frame.add(createAttendanceChart(m));
+                        frame.add(createActivityChart(m));
+                    }
+                }
+                
+                frame.revalidate();
+                frame.repaint();
+                Metrics.stop("dashboard.refresh", refreshStart);
+            }
+        };
+        meetingSelector.addActionListener(updateCharts);
+        meetingSelector.setSelectedIndex(0);
+        updateCharts.actionPerformed(null);
+
+        onDatasetChanged = () -> {
+            String selected = (String) meetingSelector.getSelectedItem();
+            List<String> options = new ArrayList<>();
+            options.add(App.OVERALL);
+            options.addAll(App.dataset.meetingMap().keySet());
+            if (options.size() != meetingSelector.getItemCount() || !options.equals(comboItems(meetingSelector))) {
+                meetingSelector.removeActionListener(updateCharts);
+                meetingSelector.setModel(new DefaultComboBoxModel<>(options.toArray(new String[0])));
+                meetingSelector.setSelectedItem(options.contains(selected) ? selected : App.OVERALL);
+                meetingSelector.addActionListener(updateCharts);
+            }
+            updateCharts.actionPerformed(null);
+        };
+
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+        System.out.println("Dashboard opened! Use the dropdown to select a meeting or view overall trends.");
+    }
+
+    private static List<String> comboItems(JComboBox<String> comboBox) {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < comboBox.getItemCount(); i++) {
+            items.add(comboBox.getItemAt(i));
+        }
+        return items;
+    }
+
+    private static JPanel chartPanel(JFreeChart chart) {
+        return new ChartPanel(chart) {{
+            setPreferredSize(new Dimension(600, 400));
+        }};
+    }
+
+    private static JPanel createPieChart(Map<String, Long> participantTotalTime) {
+        return chartPanel(buildPieChart(participantTotalTime));
+    }
+
+    static JFreeChart buildPieChart(Map<String, Long> participantTotalTime) {
+        org.jfree.data.general.DefaultPieDataset dataset = new org.jfree.data.general.DefaultPieDataset();
+        participantTotalTime.forEach((name, seconds) ->
+            dataset.setValue(name, seconds / 60.0));
+        JFreeChart chart = ChartFactory.createPieChart(
+            "Meeting Time Distribution", dataset, true, true, false);
+        chart.setBackgroundPaint(new Color(255, 250, 240));
+        return chart;
+    }
+
+    private static JPanel createHeatmapChart(Map<String, List<App.Session>> participantSessions) {
+        return chartPanel(buildHeatmapChart(participantSessions));
+    }
+
+    static JFreeChart buildHeatmapChart(Map<String, List<App.Session>> participantSessions) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        
+        for (Map.Entry<String, List<App.Session>> entry : participantSessions.entrySet()) {
+            for (App.Session session : entry.getValue()) {
+                String timeSlot = session.join.getHour() + ":00";
+                dataset.addValue(1, entry.getKey(), timeSlot);
+            }
+        }
+        JFreeChart chart = ChartFactory.createStackedBarChart(
+            "Attendance Heatmap (by Hour)", "Hour", "Sessions",
+            dataset, PlotOrientation.VERTICAL, true, true, false);
+        chart.setBackgroundPaint(new Color(255, 240, 245));
+        return chart;
+    }
+
+    private static JPanel createPresenceHeatmapChart(PresenceCube cube) {
+        return chartPanel(buildPresenceHeatmapChart(cube));
+    }
+
+    /**
+     * Participant x minute heatmap: grey absent, green present, orange present
+     * and chatting or active in that minute, red active without a session.
+     */
+    static JFreeChart buildPresenceHeatmapChart(PresenceCube cube) {
+        List<String> participants = cube.getParticipants();
+        int cells = participants.size() * cube.getMinutes();
+        double[] xs = new double[cells], ys = new double[cells], zs = new double[cells];
+        int i = 0;
+        for (int p = 0; p < participants.size(); p++) {
+            for (int minute = 0; minute < cube.getMinutes(); minute++) {
+                xs[i] = minute;
+                ys[i] = p;
+                zs[i] = (cube.isPresent(p, minute) ? 1 : 0) + (cube.isActive(p, minute) ? 2 : 0);
+                i++;
+            }
+        }
+        DefaultXYZDataset dataset = new DefaultXYZDataset();
+        dataset.addSeries("Presence", new double[][] {xs, ys, zs});
+
+        LookupPaintScale scale = new LookupPaintScale(0, 4, Color.LIGHT_GRAY);
+        scale.add(0, new Color(230, 230, 230));
+        scale.add(1, new Color(76, 175, 80));
+        scale.add(2, new Color(229, 57, 53));
+        scale.add(3, new Color(255, 152, 0));
+        XYBlockRenderer renderer = new XYBlockRenderer();
+        renderer.setPaintScale(scale);
+
+        String startLabel = cube.getStart() == null ? "" : " from " + cube.getStart().toLocalTime();
+        NumberAxis minuteAxis = new NumberAxis("Minute" + startLabel);
+        minuteAxis.setRange(-0.5, Math.max(1, cube.getMinutes()) - 0.5);
+        SymbolAxis participantAxis = new SymbolAxis("Participants", participants.toArray(new String[0]));
+        participantAxis.setRange(-0.5, Math.max(1, participants.size()) - 0.5);
+
+        XYPlot plot = new XYPlot(dataset, minuteAxis, participantAxis, renderer);
+        plot.setBackgroundPaint(Color.WHITE);
+        JFreeChart chart = new JFreeChart("Attendance Heatmap (by Minute)", plot);
+        chart.removeLegend();
+        chart.setBackgroundPaint(new Color(255, 240, 245));
+        return chart;
+    }
+
+    private static JPanel createChatChart(Map<String, Long> participantChatCounts) {
+        return chartPanel(buildChatChart(participantChatCounts));
+    }
+
+    static JFreeChart buildChatChart(Map<String, Long> participantChatCounts) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        participantChatCounts.forEach((name, count) ->
+            dataset.addValue(count, "Chat Messages", name));
+        JFreeChart chart = ChartFactory.createBarChart(
+            "Chat Messages by Participant", "Participants", "Messages",
+            dataset, PlotOrientation.VERTICAL, true, true, false);
+        chart.setBackgroundPaint(new Color(240, 255, 255));
+        return chart;
+    }
+
+    private static JPanel createBarChart(Map<String, Long> participantTotalTime) {
+        return chartPanel(buildBarChart(participantTotalTime));
+    }
+
+    static JFreeChart buildBarChart(Map<String, Long> participantTotalTime) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        participantTotalTime.forEach((name, seconds) -> 
+            dataset.addValue(seconds / 60.0, "Meeting Time (minutes)", name));
+        JFreeChart chart = ChartFactory.createBarChart(
+            "Total Meeting Time by Participant", "Participants", "Time (minutes)",
+            dataset, PlotOrientation.VERTICAL, true, true, false);
+        chart.setBackgroundPaint(new Color(240, 248, 255));
+        return chart;
+    }
+
+
+
+    private static JPanel createAttendanceChart(App.Meeting m) {
+        return chartPanel(buildAttendanceChart(m));
+    }
+
+    static JFreeChart buildAttendanceChart(App.Meeting m) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        
+        Map<String, Long> statusCounts = new HashMap<>();
+        for (App.Participant p : m.participants) {
+            if (p.attendance != null) {
+                statusCounts.merge(p.attendance.status, 1L, Long::sum);
+            }
+        }
+        
+        for (Map.Entry<String, Long> entry : statusCounts.entrySet()) {
+            dataset.addValue(entry.getValue(), "Count", entry.getKey().toUpperCase());
+        }
+
+        JFreeChart chart = ChartFactory.createBarChart(
+            "Attendance Status - " + m.title, "Status", "Count",
+            dataset, PlotOrientation.VERTICAL, true, true, false);
+        chart.setBackgroundPaint(new Color(255, 250, 240));
+        return chart;
+    }
+
+    private static JPanel createActivityChart(App.Meeting m) {
+        return chartPanel(buildActivityChart(m));
+    }
+
+    static JFreeChart buildActivityChart(App.Meeting m) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        
+        Map<String, Long> activityCounts = m.activities.stream()
+            .collect(Collectors.groupingBy(a -> a.activity, Collectors.counting()));
+        
+        for (Map.Entry<String, Long> entry : activityCounts.entrySet()) {
+            dataset.addValue(entry.getValue(), "Count", entry.getKey());
+        }
+
+        JFreeChart chart = ChartFactory.createBarChart(
+            "Activity Distribution - " + m.title, "Activity", "Count",
+            dataset, PlotOrientation.VERTICAL, true, true, false);
+        chart.setBackgroundPaint(new Color(240, 255, 255));
+        return chart;
+    }
+
+    private static JPanel createTimelineChart(Map<String, List<App.Session>> participantSessions) {
+        return chartPanel(buildTimelineChart(participantSessions));
+    }
+
+    static JFreeChart buildTimelineChart(Map<String, List<App.Session>> participantSessions) {
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        int idx = 1;
+        for (Map.Entry<String, List<App.Session>> entry : participantSessions.entrySet()) {
+            XYSeries series = new XYSeries(entry.getKey());
+            for (App.Session session : entry.getValue()) {
+                long start = session.join.atZone(java.time.ZoneId.systemDefault()).toEpochSecond();
+                long end = session.leave.atZone(java.time.ZoneId.systemDefault()).toEpochSecond();
+                series.add(start, idx);
+                series.add(end, idx);
+            }
+            dataset.addSeries(series);
+            idx++;
+        }
+        JFreeChart chart = ChartFactory.createXYLineChart(
+            "Participant Timeline", "Time (epoch seconds)", "Participant Index",
+            dataset, PlotOrientation.HORIZONTAL, true, true, false);
+        chart.setBackgroundPaint(new Color(245, 255, 250));
+        return chart;
+    }
+
+    private static JPanel createTrendChart(EngagementTrends trends) {
+        return chartPanel(buildTrendChart(trends));
+    }
+
+    static JFreeChart buildTrendChart(EngagementTrends trends) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        trends.getSeries().forEach((name, series) ->
+            series.getWindow().forEach((bucket, minutes) ->
+                dataset.addValue(minutes, name, trends.bucketLabel(bucket))));
+        
+        String title = "Engagement Trend" + (trends.getDecliningParticipants().isEmpty() ? ""
+            : " (declining: " + String.join(", ", trends.getDecliningParticipants()) + ")");
+        JFreeChart chart = ChartFactory.createLineChart(
+            title, trends.isWeekly() ? "Week" : "Date", "Time (minutes)",
+            dataset, PlotOrientation.VERTICAL, true, true, false);
+        chart.setBackgroundPaint(new Color(250, 250, 240));
+        return chart;
+    }
+
+    private static JPanel createChatIntervalChart(Map<String, List<App.Chat>> participantChats) {
+        return chartPanel(buildChatIntervalChart(participantChats));
+    }
+
+    static JFreeChart buildChatIntervalChart(Map<String, List<App.Chat>> participantChats) {
+    DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+    
+    participantChats.forEach((participant, sent) -> {
+        if (!sent.isEmpty()) {
+            // Already sorted within a meeting; the overall view may interleave meetings
+            List<App.Chat> chats = App.inOrder(sent, App.Chat.BY_TIME);
+            
+            // Calculate raw metrics
+            double duration = Math.max(1, 
+                Duration.between(
+                    chats.get(0).timestamp,
+                    chats.get(chats.size()-1).timestamp
+                ).toMinutes());
+            
+            double totalChats = chats.size();
+            double ratePer10Min = (chats.size() / duration) * 10;
+            double spamScore = Analyzers.SpamAnalyzer.calculateSpamScore(chats);
+            
+            // Add raw values to dataset
+            dataset.addValue(totalChats, "Total Messages", participant);
+            dataset.addValue(ratePer10Min, "Rate (per 10min)", participant);
+            dataset.addValue(spamScore, "Spam Score (0-100)", participant);
+        }
+    });
+
+    JFreeChart chart = ChartFactory.createBarChart(
+        "Chat Participation Metrics", 
+        "Participants", 
+        "Values", 
+        dataset, 
+        PlotOrientation.VERTICAL, 
+        true, 
+        true, 
+        false
+    );
+
+    // Basic styling
+    chart.setBackgroundPaint(Color.WHITE);
+    CategoryPlot plot = chart.getCategoryPlot();
+    plot.setBackgroundPaint(Color.WHITE);
+    
+    return chart;
+}
+}
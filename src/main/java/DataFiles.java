@@ -0,0 +1,203 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Opens input and output files, compressed or not.
+ *
+ * Inputs ending in .gz or .zst are decompressed on a separate thread that
+ * fills a small queue of chunks ahead of the parser, so inflating and JSON
+ * parsing overlap. The JDK has no zstd codec, so .zst files are piped through
+ * the zstd command-line tool, which runs as its own process; a non-zero exit
+ * status fails the read at end of input instead of silently truncating it.
+ *
+ * When output compression is on, outputs are written gzipped with a
+ * .gz suffix added to the file name.
+ */
+public class DataFiles {
+    static final int CHUNK_SIZE = 1 << 16;
+    static final int CHUNKS_AHEAD = 8;
+
+    private static volatile boolean compressOutput = false;
+
+    public static void setCompressOutput(boolean enabled) {
+        compressOutput = enabled;
+    }
+
+    /** Opens a plain, .gz or .zst input file. */
+    public static InputStream openInput(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            throw new FileNotFoundException(path.toString());
+        }
+        String name = path.getFileName().toString();
+        if (name.endsWith(".gz")) {
+            return new ReadAheadInputStream(new GZIPInputStream(Files.newInputStream(path), CHUNK_SIZE), name);
+        }
+        if (name.endsWith(".zst")) {
+            try {
+                return openProcess(new ProcessBuilder("zstd", "-dc", path.toString()), name);
+            } catch (IOException e) {
+                throw new IOException("Reading " + name + " needs the zstd command on the PATH", e);
+            }
+        }
+        return new BufferedInputStream(Files.newInputStream(path), CHUNK_SIZE);
+    }
+
+    /** Reads a decompressor process's standard output; see {@link ReadAheadInputStream}. */
+    static InputStream openProcess(ProcessBuilder command, String name) throws IOException {
+        Process process = command.redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        return new ReadAheadInputStream(process.getInputStream(), name, process);
+    }
+
+    /** Output name actually written for filename, with .gz added when output compression is on. */
+    public static String outputName(String filename) {
+        return compressOutput ? filename + ".gz" : filename;
+    }
+
+    /** Opens a UTF-8 writer for {@link #outputName(String)}. */
+    public static PrintWriter newWriter(String filename) throws IOException {
+        return new PrintWriter(new OutputStreamWriter(newOutputStream(filename), StandardCharsets.UTF_8));
+    }
+
+    /** Opens a buffered binary stream for {@link #outputName(String)}. */
+    public static OutputStream newOutputStream(String filename) throws IOException {
+        OutputStream out = Files.newOutputStream(Path.of(outputName(filename)));
+        if (compressOutput) {
+            return new GZIPOutputStream(out, CHUNK_SIZE);
+        }
+        return new BufferedOutputStream(out, CHUNK_SIZE);
+    }
+
+    /**
+     * Reads the source on a daemon thread into a bounded queue of chunks.
+     * The reader blocks when it is {@link #CHUNKS_AHEAD} chunks ahead, so memory
+     * stays bounded; errors on the reader thread are rethrown to the consumer
+     * once it has read every chunk before them. When the source is a process,
+     * its exit status is checked at end of input, and closing early destroys it.
+     */
+    static class ReadAheadInputStream extends InputStream {
+        private static final byte[] EOF = new byte[0];
+
+        private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(CHUNKS_AHEAD);
+        private final InputStream source;
+        private final Process process;
+        private final String name;
+        private final Thread reader;
+        private volatile IOException failure;
+        private volatile boolean closed = false;
+        private byte[] current = null;
+        private int position = 0;
+
+        ReadAheadInputStream(InputStream source, String name) {
+            this(source, name, null);
+        }
+
+        ReadAheadInputStream(InputStream source, String name, Process process) {
+            this.source = source;
+            this.process = process;
+            this.name = name;
+            this.reader = new Thread(this::fill, "decompress-" + name);
+            this.reader.setDaemon(true);
+            this.reader.start();
+        }
+
+        private void fill() {
+            try {
+                while (!closed) {
+                    byte[] buffer = new byte[CHUNK_SIZE];
+                    int length = source.readNBytes(buffer, 0, CHUNK_SIZE);
+                    if (length == 0) break;
+                    chunks.put(length == CHUNK_SIZE ? buffer : Arrays.copyOf(buffer, length));
+                }
+                if (process != null && !closed) {
+                    int status = process.waitFor();
+                    if (status != 0) {
+                        failure = new IOException(name + ": decompressor exited with status " + status);
+                    }
+                }
+            } catch (IOException e) {
+                failure = e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                try {
+                    source.close();
+                } catch (IOException ignored) {
+                }
+                signalEnd();
+            }
+        }
+
+        private void signalEnd() {
+            if (!closed) {
+                try {
+                    // Waits for the consumer to make room; close() interrupts this wait
+                    chunks.put(EOF);
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            // Closed: nobody reads the remaining chunks any more
+            chunks.clear();
+            chunks.offer(EOF);
+        }
+
+        private boolean nextChunk() throws IOException {
+            if (current == EOF) return false;
+            if (current != null && position < current.length) return true;
+            try {
+                current = chunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for decompressed data");
+            }
+            position = 0;
+            if (current == EOF) {
+                if (failure != null) throw failure;
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!nextChunk()) return -1;
+            return current[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            if (!nextChunk()) return -1;
+            int n = Math.min(len, current.length - position);
+            System.arraycopy(current, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            reader.interrupt();
+            chunks.clear();
+            if (process != null) {
+                process.destroy();
+            }
+        }
+    }
+}
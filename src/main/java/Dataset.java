@@ -0,0 +1,360 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+
+/**
+ * Immutable handle to a loaded set of meetings.
+ * Once built it is never modified, so any number of analyzers, reports and
+ * dashboard views can read it concurrently without locking or copying.
+ * Meetings hold their chats sorted by timestamp and sessions sorted by join.
+ * Per-meeting summaries are computed once here, at ingestion, and kept in an
+ * array in meeting order; presence cubes and the near-duplicate message
+ * clusters are built once on demand.
+ */
+public final class Dataset {
+    static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final List<App.Meeting> meetings;
+    private final Map<String, App.Meeting> meetingMap;
+    private final List<App.Meeting> online;
+    private final List<App.Meeting> offline;
+    private final MeetingSummary[] summaries;
+    private final Map<App.Meeting, PresenceCube> presence = new ConcurrentHashMap<>();
+    private List<MessageSimilarity.Cluster> clusters = null;
+
+    public Dataset(List<App.Meeting> meetings) {
+        this(meetings, null);
+    }
+
+    /** A new snapshot that keeps previous's per-meeting caches for meetings it still contains. */
+    public Dataset(List<App.Meeting> meetings, Dataset previous) {
+        this.meetings = List.copyOf(meetings);
+        Map<String, App.Meeting> map = new LinkedHashMap<>();
+        for (App.Meeting m : this.meetings) {
+            map.put(m.meetingId + " - " + m.title + " (" + m.date + ") [" + m.type + "]", m);
+        }
+        this.meetingMap = Collections.unmodifiableMap(map);
+        this.online = this.meetings.stream().filter(m -> "online".equals(m.type)).collect(Collectors.toUnmodifiableList());
+        this.offline = this.meetings.stream().filter(m -> "offline".equals(m.type)).collect(Collectors.toUnmodifiableList());
+        Map<App.Meeting, MeetingSummary> previousSummaries = new IdentityHashMap<>();
+        if (previous != null) {
+            for (int i = 0; i < previous.meetings.size(); i++) {
+                previousSummaries.put(previous.meetings.get(i), previous.summaries[i]);
+            }
+            for (App.Meeting m : this.meetings) {
+                PresenceCube cube = previous.presence.get(m);
+                if (cube != null) presence.put(m, cube);
+            }
+        }
+        this.summaries = new MeetingSummary[this.meetings.size()];
+        for (int i = 0; i < summaries.length; i++) {
+            MeetingSummary summary = previousSummaries.get(this.meetings.get(i));
+            summaries[i] = summary != null ? summary : MeetingSummary.of(this.meetings.get(i));
+        }
+    }
+
+    /** Parses a meet_data JSON document with online and offline meetings. */
+    public static Dataset load(InputStream inputStream) throws IOException {
+        return load(inputStream, new IdentityResolver());
+    }
+
+    /** Parses a document, mapping every participant name through the given resolver. */
+    public static Dataset load(InputStream inputStream, IdentityResolver identities) throws IOException {
+        return load(inputStream, identities, null);
+    }
+
+    /**
+     * Streams the meetings array one meeting at a time and validates each record.
+     * Without a quarantine the first invalid record fails the load. With one,
+     * invalid meetings, participants, chats and activities are written to it and
+     * skipped. A syntax error ends the stream, but the meetings read so far are kept.
+     */
+    public static Dataset load(InputStream inputStream, IdentityResolver identities, Quarantine quarantine)
+            throws IOException {
+        long parseStart = Metrics.start();
+        List<App.Meeting> meetings = new ArrayList<>();
+        stream(inputStream, identities, quarantine, meetings::add);
+        Dataset dataset = new Dataset(meetings);
+        Metrics.stop("parse", parseStart);
+        Metrics.count("meetings_loaded", meetings.size());
+        return dataset;
+    }
+
+    /**
+     * Parses and validates meetings as {@link #load} does, but hands each one to
+     * the consumer as soon as it is read instead of keeping it, so the caller
+     * decides what stays on the heap.
+     */
+    static void stream(InputStream inputStream, IdentityResolver identities, Quarantine quarantine,
+                       Consumer<App.Meeting> consumer) throws IOException {
+        ObjectMapper mapper = Json.MAPPER;
+        int index = 0;
+
+        try (JsonParser parser = mapper.getFactory().createParser(Metrics.countingStream(inputStream, "bytes_read"))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object with a 'meetings' array");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (!"meetings".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                    index++;
+                    if (token != JsonToken.START_OBJECT) {
+                        // A null, number, string or array element is one bad record, not the end of the array
+                        JsonNode element = mapper.readTree(parser);
+                        if (quarantine == null) {
+                            throw new IOException("Invalid meeting #" + index + ": not an object");
+                        }
+                        quarantine.add(null, "meeting", "meeting #" + index + " is not an object",
+                            element == null ? NullNode.getInstance() : element);
+                        continue;
+                    }
+                    JsonNode meetingNode = mapper.readTree(parser);
+                    App.Meeting meeting;
+                    try {
+                        meeting = parseMeeting(meetingNode, identities, quarantine);
+                    } catch (InvalidRecordException e) {
+                        if (quarantine == null) {
+                            throw new IOException("Invalid meeting #" + index + " (" + idOf(meetingNode) + "): "
+                                + e.getMessage(), e);
+                        }
+                        quarantine.add(idOf(meetingNode), "meeting", e.getMessage(), meetingNode);
+                        continue;
+                    }
+                    consumer.accept(meeting);
+                    if (Metrics.isEnabled()) {
+                        long events = 1 + meeting.participants.size() + meeting.chats.size() + meeting.activities.size()
+                            + meeting.participants.stream().mapToLong(p -> p.sessions.size()).sum();
+                        Metrics.count("events_parsed", events);
+                    }
+                }
+            }
+        } catch (JsonProcessingException e) {
+            if (quarantine == null) throw e;
+            quarantine.add(null, "document", "unreadable after meeting #" + index + ": "
+                + e.getOriginalMessage(), null);
+        }
+    }
+
+    /**
+     * Builds one meeting. Meeting-level problems throw {@link InvalidRecordException};
+     * invalid participants, chats and activities go to the quarantine when there is one.
+     */
+    static App.Meeting parseMeeting(JsonNode meetingNode, IdentityResolver identities, Quarantine quarantine) {
+        String meetingId = text(meetingNode, "meeting_id");
+        String title = text(meetingNode, "title");
+        String date = text(meetingNode, "date");
+        try {
+            LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRecordException("bad date: " + date);
+        }
+        String type = meetingNode.has("type") ? text(meetingNode, "type") : "online";
+        if (!"online".equals(type) && !"offline".equals(type)) {
+            throw new InvalidRecordException("unknown type: " + type);
+        }
+        String location = meetingNode.has("location") ? meetingNode.get("location").asText() : "";
+
+        List<App.Participant> participants = new ArrayList<>();
+        for (JsonNode person : array(meetingNode, "participants")) {
+            try {
+                participants.add(parseParticipant(person, type, identities));
+            } catch (InvalidRecordException e) {
+                reject(quarantine, meetingId, "participant", e, person);
+            }
+        }
+
+        List<App.Chat> chats = new ArrayList<>();
+        if (meetingNode.has("chats")) {
+            for (JsonNode chatNode : array(meetingNode, "chats")) {
+                try {
+                    chats.add(new App.Chat(
+                        time(chatNode, "timestamp"),
+                        identities.resolve(text(chatNode, "sender")),
+                        text(chatNode, "message")
+                    ));
+                } catch (InvalidRecordException e) {
+                    reject(quarantine, meetingId, "chat", e, chatNode);
+                }
+            }
+        }
+
+        List<App.Activity> activities = new ArrayList<>();
+        if (meetingNode.has("activities")) {
+            for (JsonNode activityNode : array(meetingNode, "activities")) {
+                try {
+                    activities.add(new App.Activity(
+                        time(activityNode, "timestamp"),
+                        identities.resolve(text(activityNode, "participant")),
+                        text(activityNode, "activity")
+                    ));
+                } catch (InvalidRecordException e) {
+                    reject(quarantine, meetingId, "activity", e, activityNode);
+                }
+            }
+        }
+
+        return new App.Meeting(meetingId, title, date, type, location, participants, chats, activities);
+    }
+
+    private static App.Participant parseParticipant(JsonNode person, String type, IdentityResolver identities) {
+        String rawName = text(person, "name");
+
+        if ("online".equals(type)) {
+            // Online participants are described by their join/leave sessions
+            List<App.Session> sessions = new ArrayList<>();
+            for (JsonNode session : array(person, "sessions")) {
+                LocalDateTime join = time(session, "join");
+                LocalDateTime leave = time(session, "leave");
+                if (leave.isBefore(join)) {
+                    throw new InvalidRecordException("session leaves at " + leave + " before joining at " + join);
+                }
+                sessions.add(new App.Session(join, leave, Duration.between(join, leave).getSeconds()));
+            }
+            return new App.Participant(identities.resolve(rawName), sessions, null);
+        }
+
+        // Offline participants carry an optional attendance record
+        JsonNode attendanceNode = person.get("attendance");
+        App.Attendance attendance = null;
+
+        if (attendanceNode != null && !attendanceNode.isNull()) {
+            String status = text(attendanceNode, "status");
+            LocalDateTime checkIn = null;
+            LocalDateTime checkOut = null;
+
+            if (attendanceNode.has("check_in") && !attendanceNode.get("check_in").isNull()) {
+                checkIn = time(attendanceNode, "check_in");
+            }
+            if (attendanceNode.has("check_out") && !attendanceNode.get("check_out").isNull()) {
+                checkOut = time(attendanceNode, "check_out");
+            }
+
+            int lateByMinutes = attendanceNode.has("late_by_minutes") ? number(attendanceNode, "late_by_minutes") : 0;
+            int earlyLeaveMinutes = attendanceNode.has("early_leave_minutes") ? number(attendanceNode, "early_leave_minutes") : 0;
+
+            attendance = new App.Attendance(status, checkIn, checkOut, lateByMinutes, earlyLeaveMinutes);
+        }
+
+        return new App.Participant(identities.resolve(rawName), new ArrayList<>(), attendance);
+    }
+
+    private static void reject(Quarantine quarantine, String meetingId, String kind, InvalidRecordException e,
+            JsonNode record) {
+        if (quarantine == null) {
+            throw new InvalidRecordException(kind + ": " + e.getMessage());
+        }
+        quarantine.add(meetingId, kind, e.getMessage(), record);
+    }
+
+    private static String idOf(JsonNode meetingNode) {
+        JsonNode id = meetingNode.get("meeting_id");
+        return id == null || id.isNull() ? null : id.asText();
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            throw new InvalidRecordException("missing '" + field + "'");
+        }
+        if (!value.isValueNode()) {
+            throw new InvalidRecordException("'" + field + "' is not a value");
+        }
+        return value.asText();
+    }
+
+    private static int number(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || !value.canConvertToInt()) {
+            throw new InvalidRecordException("'" + field + "' is not a whole number");
+        }
+        return value.asInt();
+    }
+
+    private static LocalDateTime time(JsonNode node, String field) {
+        String value = text(node, field);
+        try {
+            return LocalDateTime.parse(value, FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRecordException("bad timestamp in '" + field + "': " + value);
+        }
+    }
+
+    private static JsonNode array(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || !value.isArray()) {
+            throw new InvalidRecordException("missing '" + field + "' array");
+        }
+        return value;
+    }
+
+    /** A record that does not match the meet_data schema. */
+    static class InvalidRecordException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        InvalidRecordException(String message) {
+            super(message);
+        }
+    }
+
+    public List<App.Meeting> meetings() {
+        return meetings;
+    }
+
+    /** Meetings keyed by their dashboard label, in load order. */
+    public Map<String, App.Meeting> meetingMap() {
+        return meetingMap;
+    }
+
+    public List<App.Meeting> online() {
+        return online;
+    }
+
+    public List<App.Meeting> offline() {
+        return offline;
+    }
+
+    /** Summaries indexed like {@link #meetings()}. */
+    public List<MeetingSummary> summaries() {
+        return Collections.unmodifiableList(Arrays.asList(summaries));
+    }
+
+    /** The meeting's presence cube, built on first use and then shared. */
+    public PresenceCube presence(App.Meeting m) {
+        return presence.computeIfAbsent(m, PresenceCube::of);
+    }
+
+    /** Near-duplicate message clusters across all meetings, built on first use and then shared. */
+    public synchronized List<MessageSimilarity.Cluster> clusters() {
+        if (clusters == null) {
+            clusters = Collections.unmodifiableList(MessageSimilarity.cluster(meetings));
+        }
+        return clusters;
+    }
+}
@@ -0,0 +1,173 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a {@link Dataset} in sync with a directory of meet_data files
+ * (.json, .json.gz, .json.zst), one Dataset per directory state.
+ *
+ * Meetings are kept per file. When the WatchService reports changes, only the
+ * affected files are re-parsed; every other file keeps its Meeting objects.
+ * The new Dataset is built from a fresh copy of the per-file map (copy-on-write)
+ * and published whole, so readers always see either the old or the new
+ * snapshot, and per-meeting caches carry over for unchanged meetings.
+ *
+ * Call {@link #register} before {@link #loadAll} so that files changed while
+ * the first snapshot is parsed are still reported. When the WatchService
+ * overflows and loses events, the whole directory is rescanned.
+ */
+public class DatasetWatcher {
+    static final long SETTLE_MILLIS = 200;
+
+    private final Path dir;
+    private final IdentityResolver identities;
+    private volatile TreeMap<Path, List<App.Meeting>> byFile = new TreeMap<>();
+    private volatile Dataset current = new Dataset(List.of());
+    private WatchService watcher;
+
+    public DatasetWatcher(Path dir, IdentityResolver identities) {
+        this.dir = dir;
+        this.identities = identities;
+    }
+
+    static boolean isDataFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(".json") || name.endsWith(".json.gz") || name.endsWith(".json.zst");
+    }
+
+    /** Parses every data file in the directory and returns the first snapshot. */
+    public Dataset loadAll() throws IOException {
+        TreeMap<Path, List<App.Meeting>> files = new TreeMap<>();
+        for (Path path : listDataFiles()) {
+            files.put(path, parse(path));
+        }
+        return publish(files);
+    }
+
+    private List<Path> listDataFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path path : entries) {
+                if (isDataFile(path) && Files.isRegularFile(path)) files.add(path);
+            }
+        }
+        return files;
+    }
+
+    /** Starts collecting change events; they queue up until {@link #start} handles them. */
+    public void register() throws IOException {
+        watcher = dir.getFileSystem().newWatchService();
+        dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    /** Handles change events on a daemon thread, passing each new snapshot to listener. */
+    public void start(Consumer<Dataset> listener) throws IOException {
+        if (watcher == null) register();
+        WatchService service = watcher;
+        Thread thread = new Thread(() -> watch(service, listener), "dataset-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch(WatchService watcher, Consumer<Dataset> listener) {
+        try {
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                boolean overflow = false;
+                WatchKey key = watcher.take();
+                // Let a burst of writes to the same files settle into one reload
+                while (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            overflow = true;
+                        } else if (event.context() instanceof Path) {
+                            Path path = dir.resolve((Path) event.context());
+                            if (isDataFile(path)) changed.add(path);
+                        }
+                    }
+                    key.reset();
+                    key = watcher.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                if (overflow) {
+                    changed.addAll(rescan());
+                }
+                if (!changed.isEmpty() && reload(changed)) {
+                    listener.accept(current);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watching ends with the application
+        }
+    }
+
+    /** Events were lost: every current data file, plus the loaded ones so deleted files are dropped. */
+    Set<Path> rescan() {
+        Set<Path> all = new LinkedHashSet<>(byFile.keySet());
+        try {
+            all.addAll(listDataFiles());
+        } catch (IOException e) {
+            System.out.println("❌ Could not rescan " + dir + ": " + e.getMessage());
+        }
+        return all;
+    }
+
+    /** Re-parses only the changed files; returns whether the snapshot changed. */
+    boolean reload(Set<Path> changed) {
+        long start = Metrics.start();
+        TreeMap<Path, List<App.Meeting>> files = new TreeMap<>(byFile);
+        boolean modified = false;
+        for (Path path : changed) {
+            if (!Files.isRegularFile(path)) {
+                modified |= files.remove(path) != null;
+                continue;
+            }
+            try {
+                files.put(path, parse(path));
+                modified = true;
+            } catch (IOException | RuntimeException e) {
+                // Usually a file still being written; the next event retries it
+                System.out.println("❌ Keeping previous data for " + path.getFileName() + ": " + e.getMessage());
+            }
+        }
+        if (modified) {
+            publish(files);
+            System.out.println("✅ Reloaded " + changed.size() + " changed file(s): "
+                + current.meetings().size() + " meetings");
+        }
+        Metrics.stop("watch.reload", start);
+        return modified;
+    }
+
+    private List<App.Meeting> parse(Path path) throws IOException {
+        try (InputStream in = DataFiles.openInput(path)) {
+            return Dataset.load(in, identities).meetings();
+        }
+    }
+
+    private Dataset publish(TreeMap<Path, List<App.Meeting>> files) {
+        List<App.Meeting> meetings = new ArrayList<>();
+        files.values().forEach(meetings::addAll);
+        byFile = files;
+        current = new Dataset(meetings, current);
+        return current;
+    }
+
+    public Dataset getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,258 @@
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-participant engagement time series bucketed by meeting date.
+ * Meetings are added in date order; each participant keeps a rolling window
+ * of the most recent buckets with running regression sums, so averages,
+ * slopes and the declining flag are all updated in O(1) per meeting.
+ *
+ * A bucket is any day (or week) with at least one meeting. From their first
+ * meeting on, a participant gets a zero bucket for every later bucket they
+ * missed, up to the end of the data, so someone who stops attending shows up
+ * as declining. Missed buckets are filled lazily when a participant next
+ * appears or when results are read, at most one window's worth at a time.
+ */
+public class EngagementTrends {
+    static final int ATTENDED_MINUTES = 0;
+    static final int OFFLINE_ATTENDED = 1;
+    static final int CHATS = 2;
+    static final int ACTIVITIES = 3;
+    static final int METRICS = 4;
+
+    private static volatile boolean defaultWeekly = false;
+    private static volatile int defaultWindow = 7;
+
+    private final boolean weekly;
+    private final int window;
+    private final LocalDate origin;
+    private final Map<String, Series> series = new LinkedHashMap<>();
+    private final Set<String> declining = new LinkedHashSet<>();
+    private final List<Long> bucketOrder = new ArrayList<>();
+    private LocalDate lastDate = null;
+    private boolean current = true;
+
+    public EngagementTrends(boolean weekly, int window, LocalDate origin) {
+        this.weekly = weekly;
+        this.window = Math.max(2, window);
+        this.origin = origin;
+    }
+
+    /** Bucketing and window size used by {@link #build(List)}. */
+    public static void setDefaults(boolean weekly, int window) {
+        defaultWeekly = weekly;
+        defaultWindow = window;
+    }
+
+    /** Builds trends for all meetings with the configured bucketing and window. */
+    public static EngagementTrends build(List<App.Meeting> meetings) {
+        return build(meetings, defaultWeekly, defaultWindow);
+    }
+
+    /** Builds trends for all meetings, adding them in date order. */
+    public static EngagementTrends build(List<App.Meeting> meetings, boolean weekly, int window) {
+        List<App.Meeting> ordered = new ArrayList<>(meetings);
+        ordered.sort(Comparator.comparing(m -> m.date));
+        LocalDate origin = ordered.isEmpty() ? LocalDate.now() : LocalDate.parse(ordered.get(0).date);
+        EngagementTrends trends = new EngagementTrends(weekly, window, origin);
+        for (App.Meeting m : ordered) {
+            trends.addMeeting(m);
+        }
+        return trends;
+    }
+
+    public void addMeeting(App.Meeting meeting) {
+        LocalDate date = LocalDate.parse(meeting.date);
+        if (lastDate != null && date.isBefore(lastDate)) {
+            throw new IllegalArgumentException("Meetings must be added in date order: " + meeting.date);
+        }
+        lastDate = date;
+        long bucket = weekly ? ChronoUnit.WEEKS.between(origin, date) : ChronoUnit.DAYS.between(origin, date);
+        if (bucketOrder.isEmpty() || bucketOrder.get(bucketOrder.size() - 1) != bucket) {
+            bucketOrder.add(bucket);
+        }
+        int index = bucketOrder.size() - 1;
+
+        Map<String, double[]> perParticipant = new HashMap<>();
+        for (App.Participant p : meeting.participants) {
+            double[] values = perParticipant.computeIfAbsent(p.name, k -> new double[METRICS]);
+            if ("online".equals(meeting.type)) {
+                values[ATTENDED_MINUTES] += p.sessions.stream().mapToLong(s -> s.durationSeconds).sum() / 60.0;
+            } else if (p.attendance != null) {
+                if (p.attendance.checkIn != null && p.attendance.checkOut != null) {
+                    values[ATTENDED_MINUTES] += Duration.between(p.attendance.checkIn, p.attendance.checkOut).toMinutes();
+                }
+                if ("present".equals(p.attendance.status) || "late".equals(p.attendance.status)) {
+                    values[OFFLINE_ATTENDED] += 1;
+                }
+            }
+        }
+        for (App.Chat c : meeting.chats) {
+            perParticipant.computeIfAbsent(c.sender, k -> new double[METRICS])[CHATS] += 1;
+        }
+        for (App.Activity a : meeting.activities) {
+            perParticipant.computeIfAbsent(a.participant, k -> new double[METRICS])[ACTIVITIES] += 1;
+        }
+
+        perParticipant.forEach((name, values) ->
+            series.computeIfAbsent(name, k -> new Series(window, index)).add(bucketOrder, index, values));
+        current = false;
+    }
+
+    // Fills every series' missed buckets up to the last bucket and recomputes the declining set
+    private void catchUp() {
+        if (current) return;
+        int last = bucketOrder.size() - 1;
+        declining.clear();
+        series.forEach((name, s) -> {
+            s.fillTo(bucketOrder, last);
+            if (s.isDeclining()) declining.add(name);
+        });
+        current = true;
+    }
+
+    public boolean isWeekly() {
+        return weekly;
+    }
+
+    public Set<String> getDecliningParticipants() {
+        catchUp();
+        return declining;
+    }
+
+    public Map<String, Series> getSeries() {
+        catchUp();
+        return series;
+    }
+
+    /** Bucket labels in order, as the first date of each bucket. */
+    public List<String> getBucketLabels() {
+        List<String> labels = new ArrayList<>();
+        for (long bucket : bucketOrder) {
+            labels.add(bucketLabel(bucket));
+        }
+        return labels;
+    }
+
+    public String bucketLabel(long bucket) {
+        return (weekly ? origin.plusWeeks(bucket) : origin.plusDays(bucket)).toString();
+    }
+
+    /** Engagement series for one participant; engagement is total minutes (online + offline). */
+    public static class Series {
+        private final int window;
+        private final long[] buckets;
+        private final double[][] values;
+        private int head = 0;
+        private int count = 0;
+        // Index in the owner's bucket order of the newest bucket in the window
+        private int lastIndex;
+        private boolean engaged = false;
+
+        // Running sums over the window for the least-squares slope of engagement
+        private double sumX, sumY, sumXY, sumXX;
+        private final double[] metricSums = new double[METRICS];
+
+        Series(int window, int firstIndex) {
+            this.window = window;
+            this.buckets = new long[window];
+            this.values = new double[window][METRICS];
+            this.lastIndex = firstIndex - 1;
+        }
+
+        void add(List<Long> bucketOrder, int index, double[] delta) {
+            if (count > 0 && lastIndex == index) {
+                // Another meeting in the current bucket: fold it in place
+                accumulate(bucketOrder.get(index), delta, values[(head + count - 1) % window], 1);
+            } else {
+                fillTo(bucketOrder, index - 1);
+                push(bucketOrder.get(index));
+                lastIndex = index;
+                accumulate(bucketOrder.get(index), delta, values[(head + count - 1) % window], 1);
+            }
+            if (delta[ATTENDED_MINUTES] > 0) engaged = true;
+        }
+
+        /** Adds zero buckets for every bucket after the newest one up to index; only the last window of them can matter. */
+        void fillTo(List<Long> bucketOrder, int index) {
+            for (int i = Math.max(lastIndex + 1, index - window + 1); i <= index; i++) {
+                push(bucketOrder.get(i));
+            }
+            lastIndex = Math.max(lastIndex, index);
+        }
+
+        private void push(long bucket) {
+            if (count == window) {
+                accumulate(buckets[head], values[head], null, -1);
+                head = (head + 1) % window;
+                count--;
+            }
+            int slot = (head + count) % window;
+            buckets[slot] = bucket;
+            values[slot] = new double[METRICS];
+            sumX += bucket;
+            sumXX += (double) bucket * bucket;
+            count++;
+        }
+
+        private void accumulate(long bucket, double[] delta, double[] target, int sign) {
+            if (sign < 0) {
+                sumX -= bucket;
+                sumXX -= (double) bucket * bucket;
+            }
+            for (int i = 0; i < METRICS; i++) {
+                metricSums[i] += sign * delta[i];
+                if (target != null) target[i] += delta[i];
+            }
+            sumY += sign * delta[ATTENDED_MINUTES];
+            sumXY += sign * bucket * delta[ATTENDED_MINUTES];
+        }
+
+        public int getBucketCount() {
+            return count;
+        }
+
+        public double getRollingAverage(int metric) {
+            return count == 0 ? 0 : metricSums[metric] / count;
+        }
+
+        /** Change in engagement minutes per bucket over the rolling window. */
+        public double getSlope() {
+            double denominator = count * sumXX - sumX * sumX;
+            if (count < 2 || denominator == 0) return 0;
+            return (count * sumXY - sumX * sumY) / denominator;
+        }
+
+        /**
+         * Declining when the fitted line drops by at least 30% of the window
+         * average, or when an engaged participant has no minutes at all left
+         * in a full window (they dropped out before it started).
+         */
+        public boolean isDeclining() {
+            if (count < 3) return false;
+            if (engaged && count == window && metricSums[ATTENDED_MINUTES] == 0) return true;
+            double span = buckets[(head + count - 1) % window] - buckets[head];
+            double average = getRollingAverage(ATTENDED_MINUTES);
+            return getSlope() < 0 && -getSlope() * span >= 0.3 * average;
+        }
+
+        /** Engagement minutes per bucket in the window, oldest first. */
+        public Map<Long, Double> getWindow() {
+            Map<Long, Double> minutes = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                int slot = (head + i) % window;
+                minutes.put(buckets[slot], values[slot][ATTENDED_MINUTES]);
+            }
+            return minutes;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Group-by of keyed records that stays within a memory budget.
+ *
+ * Records are buffered per key until their estimated size passes the budget;
+ * the buffer is then written to a temporary run file sorted by key, and
+ * cleared. Reading back is a k-way merge of the runs and the in-memory rest,
+ * so only one key's records are materialized at a time. Runs are merged in
+ * the order they were written, which keeps every group in insertion order.
+ * Run files are deleted when the grouper becomes unreachable, or at exit.
+ */
+final class ExternalGrouper<T> {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /** Serializes one record; the group key is stored once per group, not per record. */
+    interface Codec<T> {
+        void write(DataOutput out, T value) throws IOException;
+
+        T read(DataInput in, String key) throws IOException;
+    }
+
+    private final Codec<T> codec;
+    private final long budgetBytes;
+    private final int recordBytes;
+    private final List<Path> runs = new ArrayList<>();
+    private TreeMap<String, List<T>> buffer = new TreeMap<>();
+    private long bufferedBytes = 0;
+
+    /**
+     * @param budgetBytes  buffered bytes that trigger a spill
+     * @param recordBytes  estimated heap retained per buffered record
+     */
+    ExternalGrouper(Codec<T> codec, long budgetBytes, int recordBytes) {
+        this.codec = codec;
+        this.budgetBytes = budgetBytes;
+        this.recordBytes = recordBytes;
+        List<Path> files = runs;
+        CLEANER.register(this, () -> files.forEach(ExternalGrouper::deleteQuietly));
+    }
+
+    void add(String key, T value) {
+        List<T> group = buffer.get(key);
+        if (group == null) {
+            group = new ArrayList<>();
+            buffer.put(key, group);
+            bufferedBytes += 64 + 2L * key.length();
+        }
+        group.add(value);
+        bufferedBytes += recordBytes;
+        if (bufferedBytes > budgetBytes) {
+            spill();
+        }
+    }
+
+    int getRunCount() {
+        return runs.size();
+    }
+
+    private void spill() {
+        long start = Metrics.start();
+        try {
+            Path run = Files.createTempFile("studtrack-spill", ".run");
+            run.toFile().deleteOnExit();
+            runs.add(run);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(run), DataFiles.CHUNK_SIZE))) {
+                for (Map.Entry<String, List<T>> group : buffer.entrySet()) {
+                    out.writeUTF(group.getKey());
+                    out.writeInt(group.getValue().size());
+                    for (T value : group.getValue()) {
+                        codec.write(out, value);
+                    }
+                }
+            }
+            Metrics.count("spill_bytes", Files.size(run));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not spill aggregation buffer", e);
+        }
+        buffer = new TreeMap<>();
+        bufferedBytes = 0;
+        Metrics.count("spill_runs", 1);
+        Metrics.stop("spill", start);
+    }
+
+    /** Calls action once per key, in key order, with all of that key's records in insertion order. */
+    void forEachGroup(BiConsumer<String, List<T>> action) {
+        if (runs.isEmpty()) {
+            buffer.forEach(action);
+            return;
+        }
+        List<RunReader> readers = new ArrayList<>();
+        try {
+            PriorityQueue<RunReader> heads = new PriorityQueue<>((a, b) -> {
+                int byKey = a.key.compareTo(b.key);
+                return byKey != 0 ? byKey : Integer.compare(a.index, b.index);
+            });
+            for (int i = 0; i < runs.size(); i++) {
+                RunReader reader = new RunReader(runs.get(i), i);
+                readers.add(reader);
+                if (reader.advance()) heads.add(reader);
+            }
+            // The in-memory rest is the newest run; it is walked once, in key order, alongside the files
+            Iterator<Map.Entry<String, List<T>>> memory = buffer.entrySet().iterator();
+            Map.Entry<String, List<T>> next = memory.hasNext() ? memory.next() : null;
+            while (!heads.isEmpty() || next != null) {
+                String key = heads.isEmpty() ? next.getKey()
+                    : next == null || heads.peek().key.compareTo(next.getKey()) <= 0
+                        ? heads.peek().key : next.getKey();
+                List<T> group = new ArrayList<>();
+                while (!heads.isEmpty() && heads.peek().key.equals(key)) {
+                    RunReader reader = heads.poll();
+                    reader.readGroup(group);
+                    if (reader.advance()) heads.add(reader);
+                }
+                if (next != null && next.getKey().equals(key)) {
+                    group.addAll(next.getValue());
+                    next = memory.hasNext() ? memory.next() : null;
+                }
+                action.accept(key, group);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read spilled aggregation run", e);
+        } finally {
+            for (RunReader reader : readers) {
+                try {
+                    reader.in.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private class RunReader {
+        final DataInputStream in;
+        final int index;
+        String key;
+        int remaining;
+
+        RunReader(Path path, int index) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), DataFiles.CHUNK_SIZE));
+            this.index = index;
+        }
+
+        boolean advance() throws IOException {
+            try {
+                key = in.readUTF();
+            } catch (EOFException e) {
+                return false;
+            }
+            remaining = in.readInt();
+            return true;
+        }
+
+        void readGroup(List<T> into) throws IOException {
+            for (; remaining > 0; remaining--) {
+                into.add(codec.read(in, key));
+            }
+        }
+    }
+}
@@ -0,0 +1,290 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Maps participant name variants ("alice", "Alice ", "Alice S.") to one
+ * canonical participant name at ingestion.
+ *
+ * A name is first normalized (case, accents, punctuation, whitespace); an
+ * exact normalized match is an O(1) lookup. Otherwise candidates come from
+ * two inverted indexes over the canonical names: by first token and surname
+ * initial (accepted when the remaining tokens agree up to initials) and by
+ * trigram (accepted when the similarity is high, i.e. typos). Both paths look
+ * at no more than {@link #MAX_POSTINGS} candidates: trigrams shared by very
+ * many names are skipped as stop-grams, and only bare first names and the
+ * name's own surname initial are searched by first token. That keeps each
+ * lookup bounded and the whole pass near-linear.
+ *
+ * Each canonical name remembers the most specific variant merged into it, so
+ * a bare "Alice" that has absorbed "Alice S." will not also absorb "Alice T.",
+ * and a bare name is left alone when it fits more than one surname. Resolved
+ * variants can be cached on disk between runs.
+ */
+public class IdentityResolver {
+    static final double TRIGRAM_THRESHOLD = 0.75;
+    static final int MAX_POSTINGS = 64;
+    static final char NO_SURNAME = ' ';
+
+    private final Map<String, String> byVariant = new HashMap<>();
+    private final Map<String, String> byKey = new HashMap<>();
+    private final List<String> canonicalKeys = new ArrayList<>();
+    private final List<String> canonicalNames = new ArrayList<>();
+    // Most specific key merged into each canonical name, e.g. "alice s" for canonical "alice"
+    private final List<String> specificKeys = new ArrayList<>();
+    private final Map<String, Integer> canonicalIds = new HashMap<>();
+    private final List<Integer> canonicalGramCounts = new ArrayList<>();
+    private final Map<String, List<Integer>> trigramIndex = new HashMap<>();
+    // First token -> surname initial (NO_SURNAME for bare names) -> canonical ids
+    private final Map<String, TreeMap<Character, List<Integer>>> firstTokenIndex = new HashMap<>();
+    private int[] sharedCounts = new int[0];
+    private boolean dirty = false;
+
+    /** Returns the canonical name for a raw participant name. */
+    public synchronized String resolve(String rawName) {
+        String cached = byVariant.get(rawName);
+        if (cached != null) return cached;
+
+        String key = normalize(rawName);
+        String canonical = byKey.get(key);
+        if (canonical == null) {
+            int id = findByFirstToken(key);
+            if (id >= 0) {
+                if (key.length() > specificKeys.get(id).length()) specificKeys.set(id, key);
+            } else {
+                id = findByTrigrams(key);
+            }
+            if (id >= 0) canonical = canonicalNames.get(id);
+        }
+        if (canonical == null) {
+            canonical = rawName.trim().replaceAll("\\s+", " ");
+            addCanonical(key, canonical);
+        }
+        byKey.putIfAbsent(key, canonical);
+        byVariant.put(rawName, canonical);
+        dirty = true;
+        return canonical;
+    }
+
+    /** Variants that were mapped to a different canonical name. */
+    public synchronized Map<String, String> getMergedVariants() {
+        Map<String, String> merged = new LinkedHashMap<>();
+        byVariant.forEach((variant, canonical) -> {
+            if (!variant.equals(canonical)) merged.put(variant, canonical);
+        });
+        return merged;
+    }
+
+    static String normalize(String name) {
+        String text = Normalizer.normalize(name, Normalizer.Form.NFD).toLowerCase();
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            } else if ((Character.isWhitespace(c) || c == '.' || c == '-' || c == '_')
+                    && sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') {
+                sb.append(' ');
+            }
+        }
+        int end = sb.length();
+        if (end > 0 && sb.charAt(end - 1) == ' ') sb.setLength(end - 1);
+        return sb.toString();
+    }
+
+    /**
+     * Same first token and compatible initials beats any trigram-only match.
+     * Searches bare first names and names with the key's own surname initial,
+     * at most MAX_POSTINGS of them; prefers the most equal tokens, then the
+     * earliest name. Returns -1 when nothing fits or a bare key fits names
+     * with different surnames.
+     */
+    private int findByFirstToken(String key) {
+        TreeMap<Character, List<Integer>> groups = firstTokenIndex.get(firstToken(key));
+        if (groups == null) return -1;
+        char initial = surnameInitial(key);
+        int best = -1, bestTokens = 0, checked = 0;
+        char matchedSurname = 0;
+        for (Map.Entry<Character, List<Integer>> group : groups.entrySet()) {
+            if (initial != NO_SURNAME && group.getKey() != NO_SURNAME && group.getKey() != initial) continue;
+            for (int id : group.getValue()) {
+                if (checked++ == MAX_POSTINGS) return best;
+                String specific = specificKeys.get(id);
+                // A bare key fits any one surname; a key with a surname must also agree with the merged one
+                if (!tokensCompatible(key, canonicalKeys.get(id))
+                        || (initial != NO_SURNAME && !tokensCompatible(key, specific))) continue;
+                char surname = surnameInitial(specific);
+                if (initial == NO_SURNAME && surname != NO_SURNAME) {
+                    if (matchedSurname != 0 && matchedSurname != surname) return -1;
+                    matchedSurname = surname;
+                }
+                int tokens = equalTokens(key, specific);
+                if (best < 0 || tokens > bestTokens) {
+                    best = id;
+                    bestTokens = tokens;
+                }
+            }
+        }
+        return best;
+    }
+
+    /** Best trigram match at or above TRIGRAM_THRESHOLD, or -1. */
+    private int findByTrigrams(String key) {
+        Set<String> grams = trigrams(key);
+        int best = -1;
+        double bestScore = 0;
+
+        // Count shared rare trigrams per candidate in a reusable scratch array
+        if (sharedCounts.length < canonicalKeys.size()) {
+            sharedCounts = new int[Math.max(16, canonicalKeys.size() * 2)];
+        }
+        List<Integer> touched = new ArrayList<>();
+        int skipped = 0;
+        for (String gram : grams) {
+            List<Integer> postings = trigramIndex.get(gram);
+            if (postings == null) continue;
+            if (postings.size() > MAX_POSTINGS) {
+                skipped++;
+                continue;
+            }
+            for (int id : postings) {
+                if (sharedCounts[id]++ == 0) touched.add(id);
+            }
+        }
+
+        for (int id : touched) {
+            // Upper bound assuming every skipped stop-gram is shared too, before the exact similarity
+            int maxShared = sharedCounts[id] + skipped;
+            sharedCounts[id] = 0;
+            int otherGrams = canonicalGramCounts.get(id);
+            if ((double) maxShared / (grams.size() + otherGrams - maxShared) < TRIGRAM_THRESHOLD) continue;
+            double score = jaccard(grams, id);
+            if (score >= TRIGRAM_THRESHOLD && score > bestScore) {
+                best = id;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private double jaccard(Set<String> grams, int id) {
+        Set<String> other = trigrams(canonicalKeys.get(id));
+        int shared = 0;
+        for (String gram : grams) {
+            if (other.contains(gram)) shared++;
+        }
+        return (double) shared / (grams.size() + other.size() - shared);
+    }
+
+    private static String firstToken(String key) {
+        int space = key.indexOf(' ');
+        return space < 0 ? key : key.substring(0, space);
+    }
+
+    private static char surnameInitial(String key) {
+        int space = key.indexOf(' ');
+        return space < 0 ? NO_SURNAME : key.charAt(space + 1);
+    }
+
+    private static int equalTokens(String a, String b) {
+        String[] ta = a.split(" "), tb = b.split(" ");
+        int equal = 0;
+        for (int i = 0; i < Math.min(ta.length, tb.length); i++) {
+            if (ta[i].equals(tb[i])) equal++;
+        }
+        return equal;
+    }
+
+    /**
+     * Same first token, and every further token of the shorter name is an
+     * initial or equal to the token at the same position ("alice s" ~ "alice smith").
+     */
+    static boolean tokensCompatible(String a, String b) {
+        String[] ta = a.split(" "), tb = b.split(" ");
+        if (!ta[0].equals(tb[0])) return false;
+        String[] shorter = ta.length <= tb.length ? ta : tb;
+        String[] longer = ta.length <= tb.length ? tb : ta;
+        for (int i = 1; i < shorter.length; i++) {
+            String s = shorter[i], l = longer[i];
+            boolean initial = (s.length() == 1 && l.startsWith(s)) || (l.length() == 1 && s.startsWith(l));
+            if (!s.equals(l) && !initial) return false;
+        }
+        // Extra trailing tokens are only allowed as initials
+        for (int i = shorter.length; i < longer.length; i++) {
+            if (longer[i].length() != 1) return false;
+        }
+        return true;
+    }
+
+    private void addCanonical(String key, String canonical) {
+        int id = canonicalKeys.size();
+        canonicalKeys.add(key);
+        canonicalNames.add(canonical);
+        specificKeys.add(key);
+        canonicalIds.put(key, id);
+        Set<String> grams = trigrams(key);
+        canonicalGramCounts.add(grams.size());
+        firstTokenIndex.computeIfAbsent(firstToken(key), k -> new TreeMap<>())
+            .computeIfAbsent(surnameInitial(key), k -> new ArrayList<>()).add(id);
+        for (String gram : grams) {
+            trigramIndex.computeIfAbsent(gram, k -> new ArrayList<>()).add(id);
+        }
+    }
+
+    private static Set<String> trigrams(String key) {
+        String padded = "$" + key + "$";
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        if (grams.isEmpty()) grams.add(padded);
+        return grams;
+    }
+
+    /** Loads a cache written by {@link #save(Path)}; a missing file is ignored. */
+    public synchronized void load(Path path) throws IOException {
+        if (!Files.exists(path)) return;
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab < 0) continue;
+                String variant = line.substring(0, tab);
+                String canonical = line.substring(tab + 1);
+                String canonicalKey = normalize(canonical);
+                if (!byKey.containsKey(canonicalKey)) {
+                    addCanonical(canonicalKey, canonical);
+                    byKey.put(canonicalKey, canonical);
+                }
+                String variantKey = normalize(variant);
+                Integer id = canonicalIds.get(canonicalKey);
+                if (id != null && variantKey.length() > specificKeys.get(id).length()
+                        && tokensCompatible(variantKey, canonicalKey)) {
+                    specificKeys.set(id, variantKey);
+                }
+                byKey.putIfAbsent(variantKey, canonical);
+                byVariant.put(variant, canonical);
+            }
+        }
+    }
+
+    /** Writes the variant to canonical mapping as tab-separated lines, if it changed. */
+    public synchronized void save(Path path) throws IOException {
+        if (!dirty) return;
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+            byVariant.forEach((variant, canonical) -> writer.println(variant + "\t" + canonical));
+        }
+        dirty = false;
+    }
+}
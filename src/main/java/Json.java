@@ -0,0 +1,17 @@
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The application's one ObjectMapper and JsonFactory.
+ *
+ * Building a mapper is not free (module setup, serializer caches that start
+ * empty), and every reader and writer used to make its own. Both are
+ * thread-safe once configured, so they are shared; do not reconfigure them.
+ */
+final class Json {
+    static final ObjectMapper MAPPER = new ObjectMapper();
+    static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    private Json() {
+    }
+}
@@ -0,0 +1,121 @@
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Group-by comparisons across meetings, such as the attendance rate of one
+ * class week by week or the average chat rate per title.
+ *
+ * Reads only the {@link MeetingSummary} array of a Dataset: one pass over
+ * small records, with no participant, chat or activity scans.
+ */
+public final class MeetingComparison {
+    enum By { TITLE, LOCATION, DATE, WEEK }
+
+    /** Totals for one group; rates are averaged over the meetings they apply to. */
+    static final class Group {
+        int meetings = 0;
+        int onlineMeetings = 0;
+        int offlineMeetings = 0;
+        /** Offline meetings with participants, the ones an attendance rate is defined for. */
+        int ratedMeetings = 0;
+        double attendanceRateSum = 0;
+        long present = 0, late = 0, absent = 0;
+        long attendedSeconds = 0;
+        long chats = 0;
+        double chatRateSum = 0;
+        long activities = 0;
+        int peakConcurrency = 0;
+
+        void add(MeetingSummary s) {
+            meetings++;
+            attendedSeconds += s.attendedSeconds;
+            chats += s.chats;
+            activities += s.activities;
+            peakConcurrency = Math.max(peakConcurrency, s.peakConcurrency);
+            if (s.isOnline()) {
+                onlineMeetings++;
+                chatRateSum += s.getChatRate();
+            } else {
+                offlineMeetings++;
+                present += s.present;
+                late += s.late;
+                absent += s.absent;
+                if (s.participants > 0) {
+                    ratedMeetings++;
+                    attendanceRateSum += s.getAttendanceRate();
+                }
+            }
+        }
+
+        /** Mean attendance rate of the offline meetings with participants, in percent; NaN without any. */
+        double getAttendanceRate() {
+            return ratedMeetings == 0 ? Double.NaN : attendanceRateSum / ratedMeetings;
+        }
+
+        /** Mean chat messages per 10 minutes of the online meetings; NaN without any. */
+        double getChatRate() {
+            return onlineMeetings == 0 ? Double.NaN : chatRateSum / onlineMeetings;
+        }
+    }
+
+    /** Groups the summaries whose title contains titleFilter (null for all), in key order. */
+    static Map<String, Group> groupBy(List<MeetingSummary> summaries, By by, String titleFilter) {
+        long start = Metrics.start();
+        Map<String, Group> groups = new TreeMap<>();
+        for (MeetingSummary s : summaries) {
+            if (titleFilter != null && !s.title.contains(titleFilter)) continue;
+            groups.computeIfAbsent(key(s, by), k -> new Group()).add(s);
+        }
+        Metrics.stop("compare", start);
+        return groups;
+    }
+
+    static String key(MeetingSummary s, By by) {
+        switch (by) {
+            case TITLE:
+                return s.title;
+            case LOCATION:
+                return s.location.isEmpty() ? "(online)" : s.location;
+            case DATE:
+                return s.date;
+            default:
+                LocalDate day = LocalDate.ofEpochDay(s.epochDay);
+                return String.format("%d-W%02d", day.get(IsoFields.WEEK_BASED_YEAR), day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+        }
+    }
+
+    /** Parses "title", "location", "date" or "week", optionally followed by ":TITLE TEXT", and prints the table. */
+    public static void run(Dataset dataset, String spec, PrintStream out) {
+        int colon = spec.indexOf(':');
+        String byName = colon < 0 ? spec : spec.substring(0, colon);
+        String titleFilter = colon < 0 ? null : spec.substring(colon + 1);
+        By by;
+        try {
+            by = By.valueOf(byName.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            out.println("❌ Unknown comparison '" + byName + "'; use title, location, date or week");
+            return;
+        }
+        print(out, groupBy(dataset.summaries(), by, titleFilter), by,
+            titleFilter == null ? "" : " for titles containing \"" + titleFilter + "\"");
+    }
+
+    static void print(PrintStream out, Map<String, Group> groups, By by, String scope) {
+        out.println("MEETING COMPARISON BY " + by + scope);
+        out.printf("%-28s %8s %10s %12s %10s %8s %14s %10s %6s%n",
+            by.name().toLowerCase(), "meetings", "attended_h", "attendance%", "absent", "chats", "chats/10min", "activities", "peak");
+        groups.forEach((key, g) -> out.printf("%-28s %8d %10.1f %12s %10d %8d %14s %10d %6d%n",
+            key, g.meetings, g.attendedSeconds / 3600.0, format(g.getAttendanceRate()), g.absent, g.chats,
+            format(g.getChatRate()), g.activities, g.peakConcurrency));
+        out.println("✅ Compared " + groups.values().stream().mapToInt(g -> g.meetings).sum()
+            + " meetings in " + groups.size() + " groups");
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "-" : String.format("%.1f", value);
+    }
+}
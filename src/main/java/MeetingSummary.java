@@ -0,0 +1,130 @@
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Per-meeting figures computed once when a {@link Dataset} is built, so
+ * cross-meeting comparisons read a small record per meeting instead of
+ * rescanning participants, chats and activities.
+ *
+ * Key fields share the Meeting's strings; everything else is a primitive.
+ */
+public final class MeetingSummary {
+    final String meetingId, title, date, type, location;
+    final long epochDay;
+    final int participants;
+    final int present, late, absent;
+    final long attendedSeconds;
+    final int sessions;
+    final int chats;
+    final int activities;
+    /** Most participants in the meeting at the same moment. */
+    final int peakConcurrency;
+    /** Earliest to latest recorded time in the meeting, in seconds. */
+    final long spanSeconds;
+
+    private MeetingSummary(App.Meeting m, int present, int late, int absent, long attendedSeconds, int sessions,
+                           int peakConcurrency, long spanSeconds) {
+        this.meetingId = m.meetingId;
+        this.title = m.title;
+        this.date = m.date;
+        this.type = m.type;
+        this.location = m.location;
+        this.epochDay = LocalDate.parse(m.date).toEpochDay();
+        this.participants = m.participants.size();
+        this.present = present;
+        this.late = late;
+        this.absent = absent;
+        this.attendedSeconds = attendedSeconds;
+        this.sessions = sessions;
+        this.chats = m.chats.size();
+        this.activities = m.activities.size();
+        this.peakConcurrency = peakConcurrency;
+        this.spanSeconds = spanSeconds;
+    }
+
+    public static MeetingSummary of(App.Meeting m) {
+        boolean online = "online".equals(m.type);
+        int present = 0, late = 0, absent = 0, sessions = 0;
+        long attended = 0;
+        // Intervals as epoch seconds, for the concurrency sweep and the span
+        int capacity = 0;
+        for (App.Participant p : m.participants) {
+            capacity += online ? p.sessions.size() : 1;
+        }
+        long[] starts = new long[capacity];
+        long[] ends = new long[capacity];
+        int intervals = 0;
+        for (App.Participant p : m.participants) {
+            if (online) {
+                for (App.Session s : p.sessions) {
+                    attended += s.durationSeconds;
+                    sessions++;
+                    starts[intervals] = seconds(s.join);
+                    ends[intervals++] = seconds(s.leave);
+                }
+            } else if (p.attendance != null) {
+                App.Attendance a = p.attendance;
+                if ("present".equals(a.status)) present++;
+                else if ("late".equals(a.status)) late++;
+                else if ("absent".equals(a.status)) absent++;
+                if (a.checkIn != null && a.checkOut != null && !a.checkOut.isBefore(a.checkIn)) {
+                    attended += Duration.between(a.checkIn, a.checkOut).getSeconds();
+                    starts[intervals] = seconds(a.checkIn);
+                    ends[intervals++] = seconds(a.checkOut);
+                }
+            }
+        }
+        starts = Arrays.copyOf(starts, intervals);
+        ends = Arrays.copyOf(ends, intervals);
+        Arrays.sort(starts);
+        Arrays.sort(ends);
+
+        // Sweep: a leave and a join at the same second do not overlap
+        int peak = 0, current = 0;
+        for (int i = 0, j = 0; i < starts.length; i++) {
+            while (j < ends.length && ends[j] <= starts[i]) {
+                current--;
+                j++;
+            }
+            peak = Math.max(peak, ++current);
+        }
+
+        long first = Long.MAX_VALUE, last = Long.MIN_VALUE;
+        if (intervals > 0) {
+            first = starts[0];
+            last = ends[ends.length - 1];
+        }
+        for (App.Chat c : m.chats) {
+            first = Math.min(first, seconds(c.timestamp));
+            last = Math.max(last, seconds(c.timestamp));
+        }
+        for (App.Activity a : m.activities) {
+            first = Math.min(first, seconds(a.timestamp));
+            last = Math.max(last, seconds(a.timestamp));
+        }
+        long span = first <= last ? last - first : 0;
+        return new MeetingSummary(m, present, late, absent, attended, sessions, peak, span);
+    }
+
+    private static long seconds(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    boolean isOnline() {
+        return "online".equals(type);
+    }
+
+    /** Present and late over all participants, in percent, as in the report; NaN for online meetings. */
+    double getAttendanceRate() {
+        if (isOnline() || participants == 0) return Double.NaN;
+        return (double) (present + late) / participants * 100;
+    }
+
+    /** Chat messages per 10 minutes of meeting span (at least one minute). */
+    double getChatRate() {
+        return chats / Math.max(1.0, spanSeconds / 60.0) * 10;
+    }
+}
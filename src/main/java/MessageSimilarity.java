@@ -0,0 +1,252 @@
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Near-duplicate chat detection with MinHash signatures over character shingles.
+ *
+ * Messages are normalized and deduplicated by text first, then only distinct
+ * texts are signed and bucketed with LSH (banded signatures), so the work is
+ * near-linear in the number of messages rather than quadratic in pairs.
+ * Each bucket keeps up to {@link #BUCKET_MEMBERS} members; a new text is
+ * compared with every kept member of its bucket that is not already in its
+ * cluster, and pairs are confirmed by estimated Jaccard similarity and merged
+ * with union-find. Callers normally use the clustering cached per
+ * {@link Dataset} rather than recomputing it.
+ */
+public class MessageSimilarity {
+    static final int SHINGLE = 3;
+    static final int BANDS = 16;
+    static final int ROWS = 2;
+    static final int HASHES = BANDS * ROWS;
+    static final double THRESHOLD = 0.5;
+    static final int BUCKET_MEMBERS = 16;
+
+    private static final long[] SEEDS = new long[HASHES];
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < HASHES; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    /** Lowercases, strips accents and punctuation and collapses whitespace. */
+    static String normalize(String message) {
+        String text = Normalizer.normalize(message, Normalizer.Form.NFD).toLowerCase();
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+                space = false;
+            } else if (Character.isWhitespace(c) && !space && sb.length() > 0) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        int end = sb.length();
+        if (end > 0 && sb.charAt(end - 1) == ' ') sb.setLength(end - 1);
+        return sb.toString();
+    }
+
+    static int[] signature(String normalized) {
+        int[] sig = new int[HASHES];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        int shingles = Math.max(1, normalized.length() - SHINGLE + 1);
+        for (int s = 0; s < shingles; s++) {
+            int end = Math.min(normalized.length(), s + SHINGLE);
+            int h = 0;
+            for (int i = s; i < end; i++) {
+                h = 31 * h + normalized.charAt(i);
+            }
+            for (int i = 0; i < HASHES; i++) {
+                int v = (int) mix(h ^ SEEDS[i]);
+                if (v < sig[i]) sig[i] = v;
+            }
+        }
+        return sig;
+    }
+
+    static double estimate(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) same++;
+        }
+        return (double) same / HASHES;
+    }
+
+    /** True when two raw messages are equal after normalization or estimated similar. */
+    static boolean isNearDuplicate(String a, String b) {
+        if (a.equals(b)) return true;
+        String na = normalize(a), nb = normalize(b);
+        if (na.equals(nb)) return true;
+        if (!similarLengths(na, nb)) return false;
+        return estimate(signature(na), signature(nb)) >= THRESHOLD;
+    }
+
+    /** Jaccard over shingles cannot reach the threshold when lengths differ too much. */
+    private static boolean similarLengths(String na, String nb) {
+        int shorter = Math.min(na.length(), nb.length()), longer = Math.max(na.length(), nb.length());
+        return shorter >= THRESHOLD * longer;
+    }
+
+    /** Clusters near-duplicate messages across all senders and meetings. */
+    public static List<Cluster> cluster(List<App.Meeting> meetings) {
+        long start = Metrics.start();
+        Map<String, Integer> textIds = new HashMap<>();
+        Map<MessageTable.Message, Integer> textIdByMessage = new IdentityHashMap<>();
+        List<String> texts = new ArrayList<>();
+        List<List<Occurrence>> occurrences = new ArrayList<>();
+        for (App.Meeting m : meetings) {
+            for (App.Chat c : m.chats) {
+                // Interned messages let repeated texts skip normalization
+                Integer id = textIdByMessage.get(c.text);
+                if (id == null) {
+                    String text = normalize(c.message());
+                    id = textIds.get(text);
+                    if (id == null) {
+                        id = texts.size();
+                        textIds.put(text, id);
+                        texts.add(text);
+                        occurrences.add(new ArrayList<>());
+                    }
+                    textIdByMessage.put(c.text, id);
+                }
+                if (texts.get(id).isEmpty()) continue;
+                occurrences.get(id).add(new Occurrence(m.meetingId, c));
+            }
+        }
+
+        int n = texts.size();
+        int[][] signatures = new int[n][];
+        for (int i = 0; i < n; i++) {
+            signatures[i] = signature(texts.get(i));
+        }
+
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) parent[i] = i;
+        for (int band = 0; band < BANDS; band++) {
+            Map<Long, List<Integer>> buckets = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                long key = band;
+                for (int r = 0; r < ROWS; r++) {
+                    key = key * 0x100000001B3L + signatures[i][band * ROWS + r];
+                }
+                List<Integer> members = buckets.computeIfAbsent(key, k -> new ArrayList<>(2));
+                for (int other : members) {
+                    if (find(parent, i) != find(parent, other)
+                            && estimate(signatures[i], signatures[other]) >= THRESHOLD) {
+                        union(parent, i, other);
+                    }
+                }
+                // A full bucket still matches new texts against its members, it just stops growing
+                if (members.size() < BUCKET_MEMBERS) members.add(i);
+            }
+        }
+
+        Map<Integer, Cluster> clusters = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            Cluster cluster = clusters.computeIfAbsent(find(parent, i), k -> new Cluster());
+            cluster.variants.add(texts.get(i));
+            for (Occurrence o : occurrences.get(i)) {
+                cluster.occurrences.add(o);
+                cluster.senders.add(o.chat.sender);
+                cluster.meetings.add(o.meetingId);
+            }
+        }
+        Metrics.stop("similarity.cluster", start);
+        return new ArrayList<>(clusters.values());
+    }
+
+    /** The dataset's clusters repeated by at least minSenders different people. */
+    public static List<Cluster> coordinated(Dataset dataset, int minSenders) {
+        List<Cluster> result = new ArrayList<>();
+        for (Cluster cluster : dataset.clusters()) {
+            if (cluster.senders.size() >= minSenders) {
+                result.add(cluster);
+            }
+        }
+        return result;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a), rb = find(parent, b);
+        if (ra != rb) parent[Math.max(ra, rb)] = Math.min(ra, rb);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Near-duplicate checks between chats that normalize each interned message
+     * once and sign it on first need, for callers comparing many pairs. Not
+     * thread-safe; keep one per analysis pass.
+     */
+    static final class Signatures {
+        private final Map<MessageTable.Message, Signed> signed = new IdentityHashMap<>();
+
+        /** The same interned message is an exact duplicate; otherwise compares the cached forms. */
+        boolean isNearDuplicate(App.Chat a, App.Chat b) {
+            if (a.text == b.text) return true;
+            Signed sa = signed(a.text), sb = signed(b.text);
+            if (sa.normalized.equals(sb.normalized)) return true;
+            if (!similarLengths(sa.normalized, sb.normalized)) return false;
+            return estimate(sa.signature(), sb.signature()) >= THRESHOLD;
+        }
+
+        private Signed signed(MessageTable.Message message) {
+            return signed.computeIfAbsent(message, m -> new Signed(normalize(m.text())));
+        }
+    }
+
+    private static final class Signed {
+        final String normalized;
+        private int[] signature;
+
+        Signed(String normalized) {
+            this.normalized = normalized;
+        }
+
+        int[] signature() {
+            if (signature == null) signature = MessageSimilarity.signature(normalized);
+            return signature;
+        }
+    }
+
+    public static class Occurrence {
+        final String meetingId;
+        final App.Chat chat;
+
+        Occurrence(String meetingId, App.Chat chat) {
+            this.meetingId = meetingId;
+            this.chat = chat;
+        }
+    }
+
+    public static class Cluster {
+        final Set<String> variants = new LinkedHashSet<>();
+        final List<Occurrence> occurrences = new ArrayList<>();
+        final Set<String> senders = new LinkedHashSet<>();
+        final Set<String> meetings = new LinkedHashSet<>();
+    }
+}
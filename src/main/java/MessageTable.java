@@ -0,0 +1,151 @@
+import java.io.ByteArrayOutputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Process-wide deduplicating table of chat message texts.
+ *
+ * Chat data is dominated by a handful of short replies ("Yes sir", "Okay sir"),
+ * so each distinct text is stored once as a {@link Message} that every chat
+ * with that text shares; equal messages then compare by reference. Messages
+ * longer than {@link #COMPRESS_THRESHOLD} characters are kept deflated when
+ * compression is enabled and inflated on access.
+ *
+ * The table only holds its entries weakly: once no chat refers to a message
+ * (its meetings were reloaded or dropped in watch mode, or a batch job's
+ * copy was discarded), the entry is collected, so a long-running process
+ * keeps only the texts of the meetings it still has. Interning is safe from
+ * any number of ingestion threads; the table is split into independently
+ * locked stripes.
+ */
+public class MessageTable {
+    static final int COMPRESS_THRESHOLD = 256;
+    private static final int STRIPES = 32;
+
+    @SuppressWarnings("unchecked")
+    private static final Map<Message, WeakReference<Message>>[] stripes = new Map[STRIPES];
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new WeakHashMap<>();
+        }
+    }
+    private static volatile boolean compress = false;
+
+    /** Enables deflate storage for long messages interned from now on. */
+    public static void setCompression(boolean enabled) {
+        compress = enabled;
+    }
+
+    /** The shared entry for text; the same object for equal texts while any chat still holds it. */
+    public static Message intern(String message) {
+        Message probe = compress && message.length() > COMPRESS_THRESHOLD
+            // Deflate output is deterministic, so equal texts share one compressed entry
+            ? new Message(deflate(message))
+            : new Message(message);
+        Map<Message, WeakReference<Message>> stripe = stripes[(probe.hash ^ (probe.hash >>> 16)) & (STRIPES - 1)];
+        synchronized (stripe) {
+            WeakReference<Message> ref = stripe.get(probe);
+            Message existing = ref == null ? null : ref.get();
+            if (existing != null) return existing;
+            stripe.put(probe, new WeakReference<>(probe));
+            return probe;
+        }
+    }
+
+    /** Number of distinct messages currently held by chats (approximate until the GC clears dead ones). */
+    public static int size() {
+        int size = 0;
+        for (Map<Message, WeakReference<Message>> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /** One distinct message text, plain or deflated; compares by content for the table's lookups. */
+    public static final class Message {
+        private final Object value;
+        private final int hash;
+
+        private Message(String text) {
+            this.value = text;
+            this.hash = text.hashCode();
+        }
+
+        private Message(byte[] deflated) {
+            this.value = deflated;
+            this.hash = Arrays.hashCode(deflated);
+        }
+
+        public String text() {
+            if (value instanceof byte[]) {
+                return inflate((byte[]) value);
+            }
+            return (String) value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Message)) return false;
+            Message other = (Message) o;
+            if (hash != other.hash) return false;
+            if (value instanceof byte[]) {
+                return other.value instanceof byte[] && Arrays.equals((byte[]) value, (byte[]) other.value);
+            }
+            return value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return text();
+        }
+    }
+
+    private static byte[] deflate(String message) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(message.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(message.length() / 2);
+            byte[] buf = new byte[512];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 3);
+            byte[] buf = new byte[1024];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buf);
+                if (n == 0 && inflater.needsInput()) break;
+                out.write(buf, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed message", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide timers, counters and gauges for the analysis pipeline.
+ * Everything is a no-op until {@link #enable()} is called, so instrumented
+ * code costs one static field read when profiling is off.
+ *
+ * Usage: {@code long t = Metrics.start(); ...; Metrics.stop("parse", t);}
+ */
+public class Metrics {
+    private static volatile boolean enabled = false;
+
+    private static final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, Double> gauges = new ConcurrentHashMap<>();
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Returns a start timestamp, or 0 when disabled. */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public static void stop(String name, long start) {
+        if (!enabled || start == 0L) return;
+        timers.computeIfAbsent(name, k -> new Timer()).record(System.nanoTime() - start);
+    }
+
+    public static void count(String name, long delta) {
+        if (!enabled) return;
+        counters.computeIfAbsent(name, k -> new LongAdder()).add(delta);
+    }
+
+    public static void gauge(String name, double value) {
+        if (!enabled) return;
+        gauges.put(name, value);
+    }
+
+    /** Records used heap and this thread's cumulative allocation under the given stage name. */
+    public static void snapshotHeap(String stage) {
+        if (!enabled) return;
+        Runtime rt = Runtime.getRuntime();
+        gauge("heap_used_bytes{stage=\"" + stage + "\"}", rt.totalMemory() - rt.freeMemory());
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            long allocated = ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+            if (allocated >= 0) {
+                gauge("thread_allocated_bytes{stage=\"" + stage + "\"}", allocated);
+            }
+        }
+    }
+
+    /** Wraps a stream so every byte read is added to the named counter. */
+    public static InputStream countingStream(InputStream in, String counter) {
+        if (!enabled) return in;
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) count(counter, 1);
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buf, int off, int len) throws IOException {
+                int n = super.read(buf, off, len);
+                if (n > 0) count(counter, n);
+                return n;
+            }
+        };
+    }
+
+    /** Writes a JSON dump, or Prometheus text format when the file name ends in ".prom". */
+    public static void writeTo(String filename) throws IOException {
+        Path path = Path.of(filename);
+        if (filename.endsWith(".prom")) {
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+                writePrometheus(writer);
+            }
+        } else {
+            Json.MAPPER.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), toMap());
+        }
+    }
+
+    static Map<String, Object> toMap() {
+        Map<String, Object> timerMap = new TreeMap<>();
+        timers.forEach((name, timer) -> {
+            Map<String, Object> t = new LinkedHashMap<>();
+            t.put("count", timer.count.sum());
+            t.put("total_ms", timer.total.sum() / 1e6);
+            t.put("max_ms", timer.max.get() / 1e6);
+            timerMap.put(name, t);
+        });
+        Map<String, Object> counterMap = new TreeMap<>();
+        counters.forEach((name, adder) -> counterMap.put(name, adder.sum()));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timers", timerMap);
+        result.put("counters", counterMap);
+        result.put("gauges", new TreeMap<>(gauges));
+        return result;
+    }
+
+    static void writePrometheus(PrintWriter writer) {
+        new TreeMap<>(timers).forEach((name, timer) -> {
+            String metric = "studtrack_" + sanitize(name) + "_seconds";
+            writer.println("# TYPE " + metric + " summary");
+            writer.println(metric + "_count " + timer.count.sum());
+            writer.println(metric + "_sum " + timer.total.sum() / 1e9);
+        });
+        new TreeMap<>(counters).forEach((name, adder) -> {
+            String metric = "studtrack_" + sanitize(name) + "_total";
+            writer.println("# TYPE " + metric + " counter");
+            writer.println(metric + " " + adder.sum());
+        });
+        new TreeMap<>(gauges).forEach((name, value) -> {
+            int labels = name.indexOf('{');
+            String base = labels < 0 ? name : name.substring(0, labels);
+            String suffix = labels < 0 ? "" : name.substring(labels);
+            writer.println("studtrack_" + sanitize(base) + suffix + " " + value);
+        });
+    }
+
+    /** Human-readable summary for --profile. */
+    public static void printSummary(PrintStream out) {
+        out.println("\n=== Profile ===");
+        out.printf("%-40s %8s %12s %12s%n", "Timer", "Count", "Total (ms)", "Max (ms)");
+        new TreeMap<>(timers).forEach((name, timer) ->
+            out.printf("%-40s %8d %12.2f %12.2f%n",
+                name, timer.count.sum(), timer.total.sum() / 1e6, timer.max.get() / 1e6));
+        new TreeMap<>(counters).forEach((name, adder) ->
+            out.printf("%-40s %8d%n", name, adder.sum()));
+
+        Timer parse = timers.get("parse");
+        LongAdder events = counters.get("events_parsed");
+        if (parse != null && events != null && parse.total.sum() > 0) {
+            out.printf("%-40s %,.0f%n", "events_per_second", events.sum() / (parse.total.sum() / 1e9));
+        }
+        new TreeMap<>(gauges).forEach((name, value) ->
+            out.printf("%-40s %,.0f%n", name, value));
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[^A-Za-z0-9_]", "_");
+    }
+
+    private static class Timer {
+        final LongAdder count = new LongAdder();
+        final LongAdder total = new LongAdder();
+        final AtomicLong max = new AtomicLong();
+
+        void record(long nanos) {
+            count.increment();
+            total.add(nanos);
+            max.accumulateAndGet(nanos, Math::max);
+        }
+    }
+}
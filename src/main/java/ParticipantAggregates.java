@@ -0,0 +1,344 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+
+/**
+ * Per-participant totals over all meetings, for the overall dashboard view
+ * and the report.
+ *
+ * In parallel mode the meeting list is split across a fork-join pool. Each
+ * leaf task fills its own map of counter-only {@link Totals}, and the halves
+ * are merged pairwise as tasks join, so workers never share a map or take a
+ * lock. Totals hold no event lists, so a merge costs one add per participant
+ * and callers that only read counters never pay for the events; {@link #sessions}
+ * and {@link #chats} are built from the meetings, in meeting order, when asked.
+ *
+ * {@link #stream} aggregates straight from the input for histories too large
+ * to load: each meeting is folded into the counters as it is parsed and then
+ * dropped, so only the counters (a few dozen bytes per participant) stay in
+ * memory. Chats, which grow with the history, go through an
+ * {@link ExternalGrouper} instead: past the memory budget they spill to
+ * sorted temporary runs, and {@link #forEachSenderChats} merges them back
+ * one sender at a time. Sessions are only counted in that mode.
+ */
+public final class ParticipantAggregates {
+    static final int MIN_SPLIT = 16;
+    /** Estimated heap per buffered chat: the object, its timestamp and its list slot. */
+    static final int CHAT_BYTES = 96;
+
+    private static volatile ForkJoinPool pool = null;
+
+    private final Map<String, Totals> totals;
+    /** The aggregated meetings, or null when streamed. */
+    private final List<App.Meeting> meetings;
+    private final ExternalGrouper<App.Chat> chatGroups;
+
+    private ParticipantAggregates(Map<String, Totals> totals, List<App.Meeting> meetings,
+                                  ExternalGrouper<App.Chat> chatGroups) {
+        this.totals = totals;
+        this.meetings = meetings;
+        this.chatGroups = chatGroups;
+    }
+
+    /** Aggregates on a fork-join pool of the given size; 1 or less keeps the sequential pass. */
+    public static void setParallelism(int threads) {
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+    }
+
+    public static ParticipantAggregates of(List<App.Meeting> meetings) {
+        long start = Metrics.start();
+        ForkJoinPool p = pool;
+        Map<String, Totals> result;
+        if (p == null) {
+            result = accumulate(meetings, 0, meetings.size());
+        } else {
+            int leafSize = Math.max(MIN_SPLIT, meetings.size() / (p.getParallelism() * 4));
+            result = p.invoke(new AggregateTask(meetings, 0, meetings.size(), leafSize));
+        }
+        Metrics.stop("aggregate", start);
+        return new ParticipantAggregates(result, meetings, null);
+    }
+
+    /**
+     * Aggregates the meetings of a document as they are parsed, without keeping
+     * them. Chats past budgetBytes spill to disk; {@link #sessions} and
+     * {@link #chats} are not available on the result.
+     */
+    public static ParticipantAggregates stream(InputStream input, IdentityResolver identities, Quarantine quarantine,
+                                               long budgetBytes) throws IOException {
+        long start = Metrics.start();
+        Map<String, Totals> result = new HashMap<>();
+        ExternalGrouper<App.Chat> chatGroups = new ExternalGrouper<>(CHAT_CODEC, budgetBytes, CHAT_BYTES);
+        Dataset.stream(input, identities, quarantine, m -> accumulate(result, m, chatGroups));
+        Metrics.stop("aggregate", start);
+        return new ParticipantAggregates(result, null, chatGroups);
+    }
+
+    /** Totals by participant name. */
+    public Map<String, Totals> totals() {
+        return Collections.unmodifiableMap(totals);
+    }
+
+    /** Attended seconds per participant, as the sum of {@link App#getMeetingTotalTime}. */
+    public Map<String, Long> totalTime() {
+        Map<String, Long> result = new HashMap<>();
+        totals.forEach((name, t) -> {
+            if (t.hasMeetingTime) result.put(name, t.meetingTime);
+        });
+        return result;
+    }
+
+    /** Sessions per participant across meetings, as the union of {@link App#getMeetingSessions}. */
+    public Map<String, List<App.Session>> sessions() {
+        requireMeetings();
+        Map<String, List<App.Session>> result = new HashMap<>();
+        for (App.Meeting m : meetings) {
+            App.getMeetingSessions(m).forEach((name, sessions) ->
+                result.computeIfAbsent(name, k -> new ArrayList<>()).addAll(sessions));
+        }
+        return result;
+    }
+
+    /** Chat messages per sender across online meetings. */
+    public Map<String, Long> chatCounts() {
+        Map<String, Long> result = new HashMap<>();
+        totals.forEach((name, t) -> {
+            if (t.chatCount > 0) result.put(name, t.chatCount);
+        });
+        return result;
+    }
+
+    /** Chats per sender across online meetings, in meeting order. */
+    public Map<String, List<App.Chat>> chats() {
+        requireMeetings();
+        Map<String, List<App.Chat>> result = new HashMap<>();
+        for (App.Meeting m : meetings) {
+            if (!"online".equals(m.type)) continue;
+            App.getMeetingChats(m).forEach((name, chats) ->
+                result.computeIfAbsent(name, k -> new ArrayList<>()).addAll(chats));
+        }
+        return result;
+    }
+
+    /**
+     * Calls action once per sender, in name order, with that sender's chats in
+     * meeting order. Streamed aggregates hold only one sender's chats at a time.
+     */
+    public void forEachSenderChats(BiConsumer<String, List<App.Chat>> action) {
+        if (chatGroups != null) {
+            chatGroups.forEachGroup(action);
+            return;
+        }
+        new TreeMap<>(chats()).forEach(action);
+    }
+
+    private void requireMeetings() {
+        if (chatGroups != null) {
+            throw new IllegalStateException("Streamed aggregates do not keep per-meeting events");
+        }
+    }
+
+    /** Online session time plus offline check-in to check-out time, for participants that have either. */
+    public Map<String, Long> attendedTime() {
+        Map<String, Long> result = new HashMap<>();
+        totals.forEach((name, t) -> {
+            if (t.hasAttendedTime) result.put(name, t.attendedTime);
+        });
+        return result;
+    }
+
+    private static Map<String, Totals> accumulate(List<App.Meeting> meetings, int from, int to) {
+        Map<String, Totals> result = new HashMap<>();
+        for (int i = from; i < to; i++) {
+            accumulate(result, meetings.get(i), null);
+        }
+        return result;
+    }
+
+    /**
+     * Folds one meeting into result's counters. When streaming to chatGroups,
+     * the meeting's chats are also added there.
+     */
+    private static void accumulate(Map<String, Totals> result, App.Meeting m, ExternalGrouper<App.Chat> chatGroups) {
+        boolean online = "online".equals(m.type);
+
+        App.getMeetingTotalTime(m).forEach((name, seconds) -> {
+            Totals t = result.computeIfAbsent(name, k -> new Totals());
+            t.meetingTime += seconds;
+            t.hasMeetingTime = true;
+        });
+
+        Map<String, List<App.Chat>> chatsBySender = Collections.emptyMap();
+        Map<String, Integer> activitiesByParticipant = new HashMap<>();
+        if (online) {
+            chatsBySender = App.getMeetingChats(m);
+            chatsBySender.forEach((name, chats) -> {
+                Totals t = result.computeIfAbsent(name, k -> new Totals());
+                t.chatCount += chats.size();
+                if (chatGroups != null) {
+                    for (App.Chat c : chats) chatGroups.add(name, c);
+                }
+            });
+        } else {
+            for (App.Activity a : m.activities) {
+                activitiesByParticipant.merge(a.participant, 1, Integer::sum);
+            }
+        }
+
+        for (App.Participant p : m.participants) {
+            Totals t = result.computeIfAbsent(p.name, k -> new Totals());
+            t.totalMeetings++;
+            if (online) {
+                t.onlineMeetings++;
+                long seconds = 0;
+                for (App.Session s : p.sessions) {
+                    seconds += s.durationSeconds;
+                }
+                t.onlineTime += seconds;
+                t.attendedTime += seconds;
+                t.hasAttendedTime = true;
+                t.sessionCount += p.sessions.size();
+                List<App.Chat> sent = chatsBySender.get(p.name);
+                t.chatMessages += sent == null ? 0 : sent.size();
+            } else {
+                t.offlineMeetings++;
+                App.Attendance a = p.attendance;
+                if (a != null) {
+                    if ("present".equals(a.status)) t.presentCount++;
+                    else if ("late".equals(a.status)) t.lateCount++;
+                    else if ("absent".equals(a.status)) t.absentCount++;
+
+                    if (a.checkIn != null && a.checkOut != null) {
+                        Duration stay = Duration.between(a.checkIn, a.checkOut);
+                        t.offlineTime += stay.toMinutes() * 60;
+                        t.attendedTime += stay.getSeconds();
+                        t.hasAttendedTime = true;
+                    }
+                }
+                t.activities += activitiesByParticipant.getOrDefault(p.name, 0);
+            }
+        }
+    }
+
+    private static class AggregateTask extends RecursiveTask<Map<String, Totals>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<App.Meeting> meetings;
+        private final int from, to, leafSize;
+
+        AggregateTask(List<App.Meeting> meetings, int from, int to, int leafSize) {
+            this.meetings = meetings;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected Map<String, Totals> compute() {
+            if (to - from <= leafSize) {
+                return accumulate(meetings, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(meetings, from, mid, leafSize);
+            AggregateTask right = new AggregateTask(meetings, mid, to, leafSize);
+            right.fork();
+            Map<String, Totals> result = left.compute();
+            right.join().forEach((name, t) -> result.merge(name, t, Totals::add));
+            return result;
+        }
+    }
+
+    /** Running totals for one participant; only touched by the task that owns them. */
+    public static class Totals {
+        int totalMeetings = 0;
+        int onlineMeetings = 0;
+        int offlineMeetings = 0;
+        long onlineTime = 0;
+        long offlineTime = 0;
+        int sessionCount = 0;
+        long chatMessages = 0;
+        int presentCount = 0;
+        int lateCount = 0;
+        int absentCount = 0;
+        long activities = 0;
+        /** Chats sent in online meetings, including by senders not listed as participants. */
+        long chatCount = 0;
+
+        long attendedTime = 0;
+        boolean hasAttendedTime = false;
+        long meetingTime = 0;
+        boolean hasMeetingTime = false;
+
+        /** Online time plus offline time counted in whole minutes. */
+        long getTotalTime() {
+            return onlineTime + offlineTime;
+        }
+
+        double getAttendanceRate() {
+            return (double)(presentCount + lateCount) / offlineMeetings;
+        }
+
+        /** Adds other's counters to this one's. */
+        Totals add(Totals other) {
+            totalMeetings += other.totalMeetings;
+            onlineMeetings += other.onlineMeetings;
+            offlineMeetings += other.offlineMeetings;
+            onlineTime += other.onlineTime;
+            offlineTime += other.offlineTime;
+            sessionCount += other.sessionCount;
+            chatMessages += other.chatMessages;
+            presentCount += other.presentCount;
+            lateCount += other.lateCount;
+            absentCount += other.absentCount;
+            activities += other.activities;
+            chatCount += other.chatCount;
+            attendedTime += other.attendedTime;
+            hasAttendedTime |= other.hasAttendedTime;
+            meetingTime += other.meetingTime;
+            hasMeetingTime |= other.hasMeetingTime;
+            return this;
+        }
+    }
+
+    /** Chats write their text, which is interned again on read; the sender is the group key. */
+    static final ExternalGrouper.Codec<App.Chat> CHAT_CODEC = new ExternalGrouper.Codec<>() {
+        @Override
+        public void write(DataOutput out, App.Chat c) throws IOException {
+            writeTime(out, c.timestamp);
+            byte[] text = c.message().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(text.length);
+            out.write(text);
+        }
+
+        @Override
+        public App.Chat read(DataInput in, String sender) throws IOException {
+            LocalDateTime timestamp = readTime(in);
+            byte[] text = new byte[in.readInt()];
+            in.readFully(text);
+            return new App.Chat(timestamp, sender, new String(text, StandardCharsets.UTF_8));
+        }
+    };
+
+    private static void writeTime(DataOutput out, LocalDateTime t) throws IOException {
+        out.writeLong(t.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(t.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInput in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,246 @@
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Participant x minute presence for one meeting.
+ *
+ * Each participant's sessions (online) or check-in/check-out interval
+ * (offline) are rasterized into a BitSet with one bit per minute of the
+ * meeting: a minute is set when the participant was there for any part of it.
+ * Chat and activity timestamps are overlaid as per-minute counts and as a
+ * per-participant "did something" bitset. Questions such as "minutes below
+ * half presence" or "chat bursts while attendance dropped" are then bitwise
+ * operations instead of rescans of the sessions.
+ *
+ * The cube covers at most the meeting's date plus {@link #OVERNIGHT} past
+ * midnight. Sessions are clipped to that window and chats or activities
+ * outside it are left out, so one timestamp with a wrong year cannot make
+ * the cube millions of minutes long.
+ */
+public final class PresenceCube {
+    /** How far past the end of its date a meeting may still run. */
+    static final Duration OVERNIGHT = Duration.ofHours(6);
+
+    private final LocalDateTime start;
+    private final int minutes;
+    private final List<String> participants;
+    private final Map<String, Integer> rows = new HashMap<>();
+    private final BitSet[] present;
+    private final BitSet[] active;
+    private final int[] chatCounts;
+    private final int[] activityCounts;
+
+    private PresenceCube(LocalDateTime start, int minutes, List<String> participants) {
+        this.start = start;
+        this.minutes = minutes;
+        this.participants = participants;
+        this.present = new BitSet[participants.size()];
+        this.active = new BitSet[participants.size()];
+        for (int i = 0; i < present.length; i++) {
+            rows.put(participants.get(i), i);
+            present[i] = new BitSet(minutes);
+            active[i] = new BitSet(minutes);
+        }
+        this.chatCounts = new int[minutes];
+        this.activityCounts = new int[minutes];
+    }
+
+    /** Builds the cube spanning the meeting's earliest to latest recorded time within its day. */
+    public static PresenceCube of(App.Meeting m) {
+        LocalDateTime dayStart = LocalDate.parse(m.date).atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1).plus(OVERNIGHT);
+        LocalDateTime first = null;
+        Map<String, List<App.Session>> intervals = new LinkedHashMap<>();
+        for (App.Participant p : m.participants) {
+            List<App.Session> list = intervals.computeIfAbsent(p.name, k -> new ArrayList<>());
+            if ("online".equals(m.type)) {
+                for (App.Session s : p.sessions) {
+                    addClipped(list, s.join, s.leave, dayStart, dayEnd);
+                }
+            } else if (p.attendance != null && p.attendance.checkIn != null && p.attendance.checkOut != null
+                    && !p.attendance.checkOut.isBefore(p.attendance.checkIn)) {
+                addClipped(list, p.attendance.checkIn, p.attendance.checkOut, dayStart, dayEnd);
+            }
+        }
+        List<App.Chat> chats = new ArrayList<>();
+        for (App.Chat c : m.chats) {
+            if (within(c.timestamp, dayStart, dayEnd)) chats.add(c);
+        }
+        List<App.Activity> activities = new ArrayList<>();
+        for (App.Activity a : m.activities) {
+            if (within(a.timestamp, dayStart, dayEnd)) activities.add(a);
+        }
+        for (List<App.Session> list : intervals.values()) {
+            for (App.Session s : list) {
+                first = earliest(first, s.join);
+            }
+        }
+        for (App.Chat c : chats) {
+            first = earliest(first, c.timestamp);
+        }
+        for (App.Activity a : activities) {
+            first = earliest(first, a.timestamp);
+        }
+
+        // Sessions end before their leave minute; chats and activities occupy theirs
+        LocalDateTime start = first == null ? null : first.truncatedTo(ChronoUnit.MINUTES);
+        long end = 0;
+        for (List<App.Session> list : intervals.values()) {
+            for (App.Session s : list) {
+                end = Math.max(end, Math.max(ceilMinutes(start, s.leave), floorMinutes(start, s.join) + 1));
+            }
+        }
+        for (App.Chat c : chats) {
+            end = Math.max(end, floorMinutes(start, c.timestamp) + 1);
+        }
+        for (App.Activity a : activities) {
+            end = Math.max(end, floorMinutes(start, a.timestamp) + 1);
+        }
+        int minutes = (int) end;
+        PresenceCube cube = new PresenceCube(start, minutes, List.copyOf(intervals.keySet()));
+
+        int row = 0;
+        for (List<App.Session> list : intervals.values()) {
+            for (App.Session s : list) {
+                int from = (int) floorMinutes(start, s.join);
+                int to = (int) ceilMinutes(start, s.leave);
+                cube.present[row].set(from, Math.max(to, from + 1));
+            }
+            row++;
+        }
+        for (App.Chat c : chats) {
+            int minute = (int) floorMinutes(start, c.timestamp);
+            cube.chatCounts[minute]++;
+            cube.markActive(c.sender, minute);
+        }
+        for (App.Activity a : activities) {
+            int minute = (int) floorMinutes(start, a.timestamp);
+            cube.activityCounts[minute]++;
+            cube.markActive(a.participant, minute);
+        }
+        return cube;
+    }
+
+    private static boolean within(LocalDateTime t, LocalDateTime from, LocalDateTime to) {
+        return !t.isBefore(from) && t.isBefore(to);
+    }
+
+    /** Adds join-leave cut to the window, or nothing when it lies entirely outside. */
+    private static void addClipped(List<App.Session> list, LocalDateTime join, LocalDateTime leave,
+                                   LocalDateTime from, LocalDateTime to) {
+        if (leave.isBefore(from) || !join.isBefore(to)) return;
+        LocalDateTime clippedJoin = join.isBefore(from) ? from : join;
+        LocalDateTime clippedLeave = leave.isAfter(to) ? to : leave;
+        list.add(new App.Session(clippedJoin, clippedLeave, Duration.between(clippedJoin, clippedLeave).getSeconds()));
+    }
+
+    private void markActive(String name, int minute) {
+        Integer row = rows.get(name);
+        if (row != null) active[row].set(minute);
+    }
+
+    /** First minute of the cube, or null for a meeting without any times. */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public int getMinutes() {
+        return minutes;
+    }
+
+    public List<String> getParticipants() {
+        return participants;
+    }
+
+    public boolean isPresent(int participant, int minute) {
+        return present[participant].get(minute);
+    }
+
+    public boolean isActive(int participant, int minute) {
+        return active[participant].get(minute);
+    }
+
+    public int getChatCount(int minute) {
+        return chatCounts[minute];
+    }
+
+    public int getActivityCount(int minute) {
+        return activityCounts[minute];
+    }
+
+    /** Number of participants present in each minute. */
+    public int[] presenceCounts() {
+        int[] counts = new int[minutes];
+        for (BitSet bits : present) {
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                counts[i]++;
+            }
+        }
+        return counts;
+    }
+
+    /** Minutes in which fewer than the given fraction of participants were present. */
+    public BitSet lowPresenceMinutes(double fraction) {
+        int[] counts = presenceCounts();
+        BitSet low = new BitSet(minutes);
+        for (int i = 0; i < minutes; i++) {
+            if (counts[i] < fraction * participants.size()) low.set(i);
+        }
+        return low;
+    }
+
+    /** Minutes with fewer participants present than the minute before. */
+    public BitSet droppingMinutes() {
+        int[] counts = presenceCounts();
+        BitSet dropping = new BitSet(minutes);
+        for (int i = 1; i < minutes; i++) {
+            if (counts[i] < counts[i - 1]) dropping.set(i);
+        }
+        return dropping;
+    }
+
+    /** Minutes with at least minChats chat messages. */
+    public BitSet chatBurstMinutes(int minChats) {
+        BitSet bursts = new BitSet(minutes);
+        for (int i = 0; i < minutes; i++) {
+            if (chatCounts[i] >= minChats) bursts.set(i);
+        }
+        return bursts;
+    }
+
+    /** Chat bursts in minutes below half presence or right after attendance dropped. */
+    public BitSet chatBurstsWhileAttendanceDropped(int minChats) {
+        BitSet dropped = lowPresenceMinutes(0.5);
+        dropped.or(droppingMinutes());
+        BitSet bursts = chatBurstMinutes(minChats);
+        bursts.and(dropped);
+        return bursts;
+    }
+
+    /** Minutes the participant was present and also chatted or logged an activity. */
+    public BitSet engagedMinutes(int participant) {
+        BitSet engaged = (BitSet) present[participant].clone();
+        engaged.and(active[participant]);
+        return engaged;
+    }
+
+    private static long floorMinutes(LocalDateTime start, LocalDateTime t) {
+        return Math.max(0, Duration.between(start, t).getSeconds() / 60);
+    }
+
+    private static long ceilMinutes(LocalDateTime start, LocalDateTime t) {
+        return (Duration.between(start, t).getSeconds() + 59) / 60;
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        return a == null || b.isBefore(a) ? b : a;
+    }
+}
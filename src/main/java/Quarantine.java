@@ -0,0 +1,57 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Side file for records rejected during tolerant ingestion.
+ *
+ * Each rejected meeting, participant, chat or activity is written as one JSON
+ * line with the meeting id, the record kind, the reason and the raw record,
+ * so it can be fixed and re-ingested on its own instead of re-running the load.
+ */
+public class Quarantine implements Closeable {
+    private final ObjectMapper mapper = Json.MAPPER;
+    private final PrintWriter out;
+    private final Path path;
+    private long count = 0;
+
+    public Quarantine(Path path) throws IOException {
+        this.path = path;
+        this.out = new PrintWriter(Files.newBufferedWriter(path));
+    }
+
+    public synchronized void add(String meetingId, String kind, String reason, JsonNode record) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("meeting_id", meetingId);
+        entry.put("kind", kind);
+        entry.put("reason", reason);
+        entry.put("record", record);
+        try {
+            out.println(mapper.writeValueAsString(entry));
+        } catch (IOException e) {
+            out.println("{\"kind\":\"" + kind + "\",\"reason\":\"unserializable record\"}");
+        }
+        count++;
+        Metrics.count("records_quarantined", 1);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public synchronized void close() {
+        out.close();
+    }
+}
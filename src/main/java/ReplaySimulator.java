@@ -0,0 +1,380 @@
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays recorded meetings as a live event stream, to load-test live analytics.
+ *
+ * Every meeting becomes a time-ordered stream of joins and leaves (online
+ * sessions), check-ins and check-outs (offline attendance), chats and
+ * activities. All meetings start together, each shifted to the replay start,
+ * so the simulator plays every recorded meeting as if they ran at once. A
+ * producer thread emits the merged stream at the given speed-up into a
+ * bounded queue, and a consumer applies each event to {@link LiveState} and
+ * feeds the {@link AnalyticsEngine} through {@link LiveAnalytics}: a meeting
+ * joins the live dataset once its last event is in, and the console's
+ * analyzers re-run on the new snapshot.
+ *
+ * Latency is measured from the moment an event was due (its scaled replay
+ * time) to the moment the consumer finished it, analysis included, so a
+ * producer that cannot keep up, a slow analysis pass or a full queue shows up
+ * as latency and backlog. Speed 0 emits as fast as possible, which gives the
+ * throughput ceiling.
+ *
+ * If applying an event or an analysis pass throws, the consumer records the
+ * failure and stops; the producer notices it while waiting on the queue and
+ * the replay fails with that exception as its cause.
+ */
+public class ReplaySimulator {
+    static final int QUEUE_CAPACITY = 1 << 14;
+    static final double MAX_SPEED = 10_000;
+    static final long SPIN_NANOS = 100_000;
+    /** How long the producer waits on a full queue before checking that the consumer is still running. */
+    static final long OFFER_MILLIS = 100;
+
+    enum Kind { JOIN, LEAVE, CHECK_IN, CHECK_OUT, CHAT, ACTIVITY }
+
+    static final class Event {
+        final long offsetNanos; // from the start of its meeting, in recorded time
+        final Kind kind;
+        final int meeting;
+        final String participant;
+        long dueNanos;
+
+        Event(long offsetNanos, Kind kind, int meeting, String participant) {
+            this.offsetNanos = offsetNanos;
+            this.kind = kind;
+            this.meeting = meeting;
+            this.participant = participant;
+        }
+    }
+
+    private static final Event END = new Event(0, Kind.CHAT, -1, null);
+
+    /** Time-ordered events of one meeting; ties keep the order in which they were recorded. */
+    static List<Event> events(App.Meeting m, int index) {
+        List<Event> events = new ArrayList<>();
+        LocalDateTime start = null;
+        List<LocalDateTime> times = new ArrayList<>();
+        for (App.Participant p : m.participants) {
+            for (App.Session s : p.sessions) {
+                times.add(s.join);
+                times.add(s.leave);
+            }
+            if (p.attendance != null) {
+                if (p.attendance.checkIn != null) times.add(p.attendance.checkIn);
+                if (p.attendance.checkOut != null) times.add(p.attendance.checkOut);
+            }
+        }
+        for (App.Chat c : m.chats) times.add(c.timestamp);
+        for (App.Activity a : m.activities) times.add(a.timestamp);
+        for (LocalDateTime t : times) {
+            if (start == null || t.isBefore(start)) start = t;
+        }
+        if (start == null) return events;
+
+        for (App.Participant p : m.participants) {
+            for (App.Session s : p.sessions) {
+                events.add(new Event(nanosBetween(start, s.join), Kind.JOIN, index, p.name));
+                events.add(new Event(nanosBetween(start, s.leave), Kind.LEAVE, index, p.name));
+            }
+            if (p.attendance != null && p.attendance.checkIn != null) {
+                events.add(new Event(nanosBetween(start, p.attendance.checkIn), Kind.CHECK_IN, index, p.name));
+                if (p.attendance.checkOut != null) {
+                    events.add(new Event(nanosBetween(start, p.attendance.checkOut), Kind.CHECK_OUT, index, p.name));
+                }
+            }
+        }
+        for (App.Chat c : m.chats) {
+            events.add(new Event(nanosBetween(start, c.timestamp), Kind.CHAT, index, c.sender));
+        }
+        for (App.Activity a : m.activities) {
+            events.add(new Event(nanosBetween(start, a.timestamp), Kind.ACTIVITY, index, a.participant));
+        }
+        events.sort((a, b) -> Long.compare(a.offsetNanos, b.offsetNanos));
+        return events;
+    }
+
+    private static long nanosBetween(LocalDateTime from, LocalDateTime to) {
+        return Duration.between(from, to).toNanos();
+    }
+
+    /** Replays all meetings at speed (1 to 10000, or 0 for unpaced) and prints the results. */
+    public static Result run(Dataset dataset, double speed) throws InterruptedException {
+        return run(dataset, speed, LiveAnalytics.ANALYZERS);
+    }
+
+    static Result run(Dataset dataset, double speed, List<Analyzer<?>> analyzers) throws InterruptedException {
+        if (speed != 0 && (speed < 1 || speed > MAX_SPEED)) {
+            throw new IllegalArgumentException("Replay speed must be between 1 and 10000, or max: " + speed);
+        }
+        List<App.Meeting> meetings = dataset.meetings();
+        List<Event> stream = new ArrayList<>();
+        int[] eventsPerMeeting = new int[meetings.size()];
+        for (int i = 0; i < meetings.size(); i++) {
+            List<Event> events = events(meetings.get(i), i);
+            eventsPerMeeting[i] = events.size();
+            stream.addAll(events);
+        }
+        // Meetings are aligned at the replay start, so one sort by offset merges them
+        stream.sort((a, b) -> Long.compare(a.offsetNanos, b.offsetNanos));
+
+        BlockingQueue<Event> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        LiveState state = new LiveState(meetings.size());
+        LiveAnalytics analytics = new LiveAnalytics(meetings, eventsPerMeeting, analyzers);
+        long[] latencies = new long[stream.size()];
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                int n = 0;
+                for (Event e = queue.take(); e != END; e = queue.take()) {
+                    state.apply(e);
+                    analytics.apply(e, queue.isEmpty());
+                    latencies[n++] = System.nanoTime() - e.dueNanos;
+                }
+                analytics.finish();
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        }, "replay-consumer");
+
+        Result result = new Result(stream.size(), meetings, speed);
+        long start = System.nanoTime();
+        consumer.start();
+        for (Event e : stream) {
+            e.dueNanos = speed == 0 ? System.nanoTime() : start + (long) (e.offsetNanos / speed);
+            long wait;
+            while ((wait = e.dueNanos - System.nanoTime()) > 0) {
+                // parkNanos overshoots by tens of microseconds, so spin through the last stretch
+                if (wait > SPIN_NANOS) LockSupport.parkNanos(wait - SPIN_NANOS);
+                else Thread.onSpinWait();
+            }
+            if (!offer(queue, e, failure)) break;
+            result.maxBacklog = Math.max(result.maxBacklog, queue.size());
+        }
+        offer(queue, END, failure);
+        consumer.join();
+        if (failure.get() != null) {
+            throw new IllegalStateException("Replay consumer failed", failure.get());
+        }
+        result.wallNanos = System.nanoTime() - start;
+        result.latencies = latencies;
+        result.state = state;
+        result.analytics = analytics;
+        Metrics.count("replay_events", stream.size());
+        return result;
+    }
+
+    /** Queues e, waiting while the queue is full; false once the consumer has failed. */
+    private static boolean offer(BlockingQueue<Event> queue, Event e, AtomicReference<RuntimeException> failure)
+            throws InterruptedException {
+        while (failure.get() == null) {
+            if (queue.offer(e, OFFER_MILLIS, TimeUnit.MILLISECONDS)) return true;
+        }
+        return false;
+    }
+
+    /** Incremental live view: who is in each meeting now, peak concurrency, chat bursts. */
+    static final class LiveState {
+        static final int BURST_MESSAGES = 5;
+        static final long BURST_WINDOW_NANOS = 60_000_000_000L;
+
+        final int[] present;
+        final int[] peak;
+        final int[] chats;
+        final int[] activities;
+        // Per meeting index, keyed by the participant's canonical name as shared by all its events
+        private final List<Map<String, Person>> people;
+        long bursts = 0;
+        long unmatchedLeaves = 0;
+
+        private static final class Person {
+            int open = 0;
+            ArrayDeque<Long> recentChats;
+        }
+
+        LiveState(int meetings) {
+            present = new int[meetings];
+            peak = new int[meetings];
+            chats = new int[meetings];
+            activities = new int[meetings];
+            people = new ArrayList<>(meetings);
+            for (int i = 0; i < meetings; i++) people.add(new HashMap<>());
+        }
+
+        private Person person(Event e) {
+            Map<String, Person> inMeeting = people.get(e.meeting);
+            Person person = inMeeting.get(e.participant);
+            if (person == null) {
+                person = new Person();
+                inMeeting.put(e.participant, person);
+            }
+            return person;
+        }
+
+        void apply(Event e) {
+            switch (e.kind) {
+                case JOIN:
+                case CHECK_IN:
+                    person(e).open++;
+                    peak[e.meeting] = Math.max(peak[e.meeting], ++present[e.meeting]);
+                    break;
+                case LEAVE:
+                case CHECK_OUT:
+                    Person leaving = person(e);
+                    // A leave recorded before its join has nothing to close; counting it would drive present negative
+                    if (leaving.open == 0) {
+                        unmatchedLeaves++;
+                        break;
+                    }
+                    leaving.open--;
+                    present[e.meeting]--;
+                    break;
+                case CHAT:
+                    chats[e.meeting]++;
+                    // A burst is BURST_MESSAGES from one sender within a minute of recorded time
+                    Person sender = person(e);
+                    if (sender.recentChats == null) sender.recentChats = new ArrayDeque<>();
+                    ArrayDeque<Long> recent = sender.recentChats;
+                    recent.addLast(e.offsetNanos);
+                    while (e.offsetNanos - recent.peekFirst() > BURST_WINDOW_NANOS) recent.removeFirst();
+                    if (recent.size() == BURST_MESSAGES) bursts++;
+                    break;
+                case ACTIVITY:
+                    activities[e.meeting]++;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * The analytics engine fed from the replay. A meeting whose last event has
+     * been applied joins the live dataset; the next pass builds a snapshot that
+     * keeps the previous one's per-meeting caches and runs the console's
+     * analyzers on it. Passes run whenever the consumer has caught up, and at
+     * most every {@link #REFRESH_NANOS} while events are backlogged, as a
+     * dashboard would refresh.
+     */
+    static final class LiveAnalytics {
+        static final long REFRESH_NANOS = 250_000_000L;
+        static final List<Analyzer<?>> ANALYZERS = List.of(
+            new Analyzers.ChatPatternAnalyzer(), new Analyzers.AttendanceAnalyzer(), new Analyzers.ActivityAnalyzer());
+
+        private final List<App.Meeting> recorded;
+        private final List<Analyzer<?>> analyzers;
+        private final int[] remaining;
+        private final List<App.Meeting> finished = new ArrayList<>();
+        private Dataset snapshot = new Dataset(List.of());
+        private boolean dirty = false;
+        private long lastPass = 0;
+        int passes = 0;
+        long passNanos = 0;
+        long maxPassNanos = 0;
+
+        LiveAnalytics(List<App.Meeting> recorded, int[] eventsPerMeeting, List<Analyzer<?>> analyzers) {
+            this.recorded = recorded;
+            this.analyzers = analyzers;
+            this.remaining = eventsPerMeeting.clone();
+            for (int i = 0; i < remaining.length; i++) {
+                if (remaining[i] == 0) finished.add(recorded.get(i));
+            }
+            dirty = !finished.isEmpty();
+        }
+
+        void apply(Event e, boolean caughtUp) {
+            if (--remaining[e.meeting] == 0) {
+                finished.add(recorded.get(e.meeting));
+                dirty = true;
+            }
+            if (dirty && (caughtUp || System.nanoTime() - lastPass >= REFRESH_NANOS)) {
+                pass();
+            }
+        }
+
+        void finish() {
+            if (dirty) pass();
+        }
+
+        int meetings() {
+            return snapshot.meetings().size();
+        }
+
+        private void pass() {
+            long start = System.nanoTime();
+            snapshot = new Dataset(finished, snapshot);
+            new AnalyticsEngine(snapshot).runAll(analyzers);
+            long nanos = System.nanoTime() - start;
+            passes++;
+            passNanos += nanos;
+            maxPassNanos = Math.max(maxPassNanos, nanos);
+            lastPass = System.nanoTime();
+            dirty = false;
+        }
+    }
+
+    static final class Result {
+        final int events;
+        final List<App.Meeting> meetings;
+        final double speed;
+        long wallNanos;
+        int maxBacklog = 0;
+        long[] latencies;
+        LiveState state;
+        LiveAnalytics analytics;
+
+        Result(int events, List<App.Meeting> meetings, double speed) {
+            this.events = events;
+            this.meetings = meetings;
+            this.speed = speed;
+        }
+
+        double eventsPerSecond() {
+            return events / (wallNanos / 1e9);
+        }
+
+        /** Latency percentile in milliseconds, p between 0 and 100. */
+        double latencyMillis(double p) {
+            if (latencies.length == 0) return 0;
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(p / 100 * sorted.length) - 1);
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+
+        void print() {
+            int peakMeeting = 0;
+            long chats = 0;
+            for (int i = 0; i < state.peak.length; i++) {
+                if (state.peak[i] > state.peak[peakMeeting]) peakMeeting = i;
+                chats += state.chats[i];
+            }
+            System.out.printf("✅ Replayed %d events from %d meetings at %s in %.2f s%n",
+                events, meetings.size(), speed == 0 ? "max speed" : String.format("%.0fx", speed), wallNanos / 1e9);
+            System.out.printf("  Sustained rate: %.0f events/s%n", eventsPerSecond());
+            System.out.printf("  Latency (ms):   p50 %.3f  p90 %.3f  p99 %.3f  p99.9 %.3f  max %.3f%n",
+                latencyMillis(50), latencyMillis(90), latencyMillis(99), latencyMillis(99.9), latencyMillis(100));
+            System.out.printf("  Backlog:        max %d of %d queued%n", maxBacklog, QUEUE_CAPACITY);
+            if (state.peak.length > 0) {
+                System.out.printf("  Live state:     peak concurrency %d (%s), %d chats, %d chat bursts, %d unmatched leaves%n",
+                    state.peak[peakMeeting], meetings.get(peakMeeting).meetingId, chats, state.bursts, state.unmatchedLeaves);
+            }
+            if (analytics.passes > 0) {
+                System.out.printf("  Analytics:      %d passes over up to %d meetings, avg %.3f ms, max %.3f ms%n",
+                    analytics.passes, analytics.meetings(), analytics.passNanos / 1e6 / analytics.passes,
+                    analytics.maxPassNanos / 1e6);
+            }
+        }
+    }
+}
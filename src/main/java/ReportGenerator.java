@@ -1,4 +1,3 @@
-import java.io.FileWriter;
 import java.io.PrintWriter;
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -10,36 +9,87 @@ import java.util.stream.Collectors;
 
 public class ReportGenerator {
     
-    public static void generateComprehensiveReport(List<App.Meeting> meetings, String filename) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
-            writer.println("STUDTRACK - COMPREHENSIVE ATTENDANCE REPORT");
-            writer.println("=============================================");
-            writer.println("Generated on: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-            writer.println();
-            
-            // Executive Summary
-            generateExecutiveSummary(writer, meetings);
+    public static void generateComprehensiveReport(Dataset dataset, String filename) {
+        try (PrintWriter writer = DataFiles.newWriter(filename)) {
+            writeComprehensiveReport(writer, dataset);
             
-            // Online Meetings Analysis
-            generateOnlineMeetingsReport(writer, meetings);
+            System.out.println("✅ Comprehensive report generated: " + DataFiles.outputName(filename));
             
-            // Offline Meetings Analysis
-            generateOfflineMeetingsReport(writer, meetings);
-            
-            // Participant Performance Analysis
-            generateParticipantAnalysis(writer, meetings);
+        } catch (Exception e) {
+            System.err.println("❌ Error generating report: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Report for aggregates streamed from an input too large to load: the
+     * participant sections only, since the meetings themselves were not kept.
+     */
+    public static void generateParticipantReport(ParticipantAggregates aggregates, String filename) {
+        try (PrintWriter writer = DataFiles.newWriter(filename)) {
+            writer.println("STUDTRACK - PARTICIPANT REPORT");
+            writer.println("==============================");
+            writer.println("Generated on: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            writer.println();
             
-            // Recommendations
-            generateRecommendations(writer, meetings);
+            generateTopByTotalTime(writer, aggregates);
+            generateParticipantAnalysis(writer, aggregates);
+            generateChatParticipation(writer, aggregates);
             
-            System.out.println("✅ Comprehensive report generated: " + filename);
+            System.out.println("✅ Participant report generated: " + DataFiles.outputName(filename));
             
         } catch (Exception e) {
             System.err.println("❌ Error generating report: " + e.getMessage());
         }
     }
     
-    private static void generateExecutiveSummary(PrintWriter writer, List<App.Meeting> meetings) {
+    /** Writes all report sections for the dataset's meetings. */
+    static void writeComprehensiveReport(PrintWriter writer, Dataset dataset) {
+        List<App.Meeting> meetings = dataset.meetings();
+        writer.println("STUDTRACK - COMPREHENSIVE ATTENDANCE REPORT");
+        writer.println("=============================================");
+        writer.println("Generated on: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        writer.println();
+        
+        ParticipantAggregates aggregates = ParticipantAggregates.of(meetings);
+        
+        // Executive Summary
+        long sectionStart = Metrics.start();
+        generateExecutiveSummary(writer, meetings, aggregates);
+        Metrics.stop("report.executive_summary", sectionStart);
+        
+        // Online Meetings Analysis
+        sectionStart = Metrics.start();
+        generateOnlineMeetingsReport(writer, meetings);
+        Metrics.stop("report.online_meetings_report", sectionStart);
+        
+        // Offline Meetings Analysis
+        sectionStart = Metrics.start();
+        generateOfflineMeetingsReport(writer, dataset);
+        Metrics.stop("report.offline_meetings_report", sectionStart);
+        
+        // Participant Performance Analysis
+        sectionStart = Metrics.start();
+        generateParticipantAnalysis(writer, aggregates);
+        Metrics.stop("report.participant_analysis", sectionStart);
+        
+        // Coordinated Messages
+        sectionStart = Metrics.start();
+        generateCoordinatedMessages(writer, dataset);
+        Metrics.stop("report.coordinated_messages", sectionStart);
+        
+        // Engagement Trends
+        sectionStart = Metrics.start();
+        generateEngagementTrends(writer, meetings);
+        Metrics.stop("report.engagement_trends", sectionStart);
+        
+        // Recommendations
+        sectionStart = Metrics.start();
+        generateRecommendations(writer, meetings, aggregates);
+        Metrics.stop("report.recommendations", sectionStart);
+    }
+    
+    private static void generateExecutiveSummary(PrintWriter writer, List<App.Meeting> meetings,
+            ParticipantAggregates aggregates) {
         writer.println("EXECUTIVE SUMMARY");
         writer.println("=================");
         
@@ -52,33 +102,15 @@ public class ReportGenerator {
         writer.println("Offline Meetings: " + offlineMeetings);
         writer.println();
         
+        generateTopByTotalTime(writer, aggregates);
+    }
+    
+    private static void generateTopByTotalTime(PrintWriter writer, ParticipantAggregates aggregates) {
         // Overall attendance statistics
-        Map<String, Long> participantTotalTime = new HashMap<>();
-        Map<String, Integer> participantMeetingCount = new HashMap<>();
-        
-        for (App.Meeting meeting : meetings) {
-            for (App.Participant participant : meeting.participants) {
-                participantMeetingCount.merge(participant.name, 1, Integer::sum);
-                
-                if ("online".equals(meeting.type)) {
-                    long totalSeconds = participant.sessions.stream()
-                        .mapToLong(s -> s.durationSeconds).sum();
-                    participantTotalTime.merge(participant.name, totalSeconds, Long::sum);
-                } else {
-                    if (participant.attendance != null && participant.attendance.checkIn != null && 
-                        participant.attendance.checkOut != null) {
-                        long totalSeconds = Duration.between(participant.attendance.checkIn, 
-                            participant.attendance.checkOut).getSeconds();
-                        participantTotalTime.merge(participant.name, totalSeconds, Long::sum);
-                    }
-                }
-            }
-        }
+        Map<String, Long> participantTotalTime = aggregates.attendedTime();
         
         writer.println("TOP PARTICIPANTS BY TOTAL TIME:");
-        participantTotalTime.entrySet().stream()
-            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-            .limit(5)
+        TopK.of(participantTotalTime, 5, Long::doubleValue)
             .forEach(entry -> {
                 long hours = entry.getValue() / 3600;
                 long minutes = (entry.getValue() % 3600) / 60;
@@ -145,12 +177,11 @@ public class ReportGenerator {
         writer.println();
     }
     
-    private static void generateOfflineMeetingsReport(PrintWriter writer, List<App.Meeting> meetings) {
-        List<App.Meeting> offlineMeetings = meetings.stream()
-            .filter(m -> "offline".equals(m.type))
-            .collect(Collectors.toList());
+    private static void generateOfflineMeetingsReport(PrintWriter writer, Dataset dataset) {
+        List<App.Meeting> meetings = dataset.meetings();
+        List<MeetingSummary> summaries = dataset.summaries();
         
-        if (offlineMeetings.isEmpty()) {
+        if (dataset.offline().isEmpty()) {
             writer.println("OFFLINE MEETINGS ANALYSIS");
             writer.println("=========================");
             writer.println("No offline meetings found.");
@@ -161,25 +192,16 @@ public class ReportGenerator {
         writer.println("OFFLINE MEETINGS ANALYSIS");
         writer.println("=========================");
         
-        for (App.Meeting meeting : offlineMeetings) {
+        for (int i = 0; i < meetings.size(); i++) {
+            App.Meeting meeting = meetings.get(i);
+            if (!"offline".equals(meeting.type)) continue;
             writer.println("\nMeeting: " + meeting.title + " (" + meeting.date + ") at " + meeting.location);
             writer.println("-".repeat(60));
             
-            // Attendance summary
-            long presentCount = meeting.participants.stream()
-                .filter(p -> p.attendance != null && "present".equals(p.attendance.status))
-                .count();
-            long lateCount = meeting.participants.stream()
-                .filter(p -> p.attendance != null && "late".equals(p.attendance.status))
-                .count();
-            long absentCount = meeting.participants.stream()
-                .filter(p -> p.attendance != null && "absent".equals(p.attendance.status))
-                .count();
-            
-            double attendanceRate = (double)(presentCount + lateCount) / meeting.participants.size() * 100;
-            
-            writer.printf("Attendance Rate: %.1f%%%n", attendanceRate);
-            writer.printf("Present: %d, Late: %d, Absent: %d%n", presentCount, lateCount, absentCount);
+            // Attendance summary, counted once at ingestion
+            MeetingSummary summary = summaries.get(i);
+            writer.printf("Attendance Rate: %.1f%%%n", summary.getAttendanceRate());
+            writer.printf("Present: %d, Late: %d, Absent: %d%n", summary.present, summary.late, summary.absent);
             writer.println();
             
             // Participant details
@@ -222,9 +244,7 @@ public class ReportGenerator {
                     .collect(Collectors.groupingBy(a -> a.participant, Collectors.counting()));
                 
                 writer.println("\n  Most Active Participants:");
-                participantActivityCounts.entrySet().stream()
-                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                    .limit(3)
+                TopK.of(participantActivityCounts, 3, Long::doubleValue)
                     .forEach(entry -> {
                         writer.printf("    %s: %d activities%n", entry.getKey(), entry.getValue());
                     });
@@ -233,72 +253,21 @@ public class ReportGenerator {
         writer.println();
     }
     
-    private static void generateParticipantAnalysis(PrintWriter writer, List<App.Meeting> meetings) {
+    private static void generateParticipantAnalysis(PrintWriter writer, ParticipantAggregates aggregates) {
         writer.println("PARTICIPANT PERFORMANCE ANALYSIS");
         writer.println("===============================");
         
-        Map<String, ParticipantStats> participantStats = new HashMap<>();
-        
-        // Initialize stats for all participants
-        for (App.Meeting meeting : meetings) {
-            for (App.Participant participant : meeting.participants) {
-                participantStats.computeIfAbsent(participant.name, k -> new ParticipantStats());
-            }
-        }
-        
-        // Collect statistics
-        for (App.Meeting meeting : meetings) {
-            for (App.Participant participant : meeting.participants) {
-                ParticipantStats stats = participantStats.get(participant.name);
-                stats.totalMeetings++;
-                
-                if ("online".equals(meeting.type)) {
-                    stats.onlineMeetings++;
-                    long totalSeconds = participant.sessions.stream()
-                        .mapToLong(s -> s.durationSeconds).sum();
-                    stats.totalOnlineTime += totalSeconds;
-                    stats.totalSessions += participant.sessions.size();
-                    
-                    // Chat activity
-                    long chatCount = meeting.chats.stream()
-                        .filter(c -> c.sender.equals(participant.name))
-                        .count();
-                    stats.totalChatMessages += chatCount;
-                    
-                } else {
-                    stats.offlineMeetings++;
-                    if (participant.attendance != null) {
-                        if ("present".equals(participant.attendance.status)) {
-                            stats.presentCount++;
-                        } else if ("late".equals(participant.attendance.status)) {
-                            stats.lateCount++;
-                        } else if ("absent".equals(participant.attendance.status)) {
-                            stats.absentCount++;
-                        }
-                        
-                        if (participant.attendance.checkIn != null && participant.attendance.checkOut != null) {
-                            long totalMinutes = Duration.between(participant.attendance.checkIn, 
-                                participant.attendance.checkOut).toMinutes();
-                            stats.totalOfflineTime += totalMinutes * 60; // Convert to seconds
-                        }
-                    }
-                    
-                    // Activity count
-                    long activityCount = meeting.activities.stream()
-                        .filter(a -> a.participant.equals(participant.name))
-                        .count();
-                    stats.totalActivities += activityCount;
-                }
-            }
-        }
+        // Participants of at least one meeting (chat senders alone are not ranked)
+        Map<String, ParticipantAggregates.Totals> participantStats = new HashMap<>();
+        aggregates.totals().forEach((name, totals) -> {
+            if (totals.totalMeetings > 0) participantStats.put(name, totals);
+        });
         
         // Generate participant rankings
         writer.println("\nTOP PARTICIPANTS BY ENGAGEMENT:");
-        participantStats.entrySet().stream()
-            .sorted((a, b) -> Long.compare(b.getValue().getTotalTime(), a.getValue().getTotalTime()))
-            .limit(5)
+        TopK.of(participantStats, 5, stats -> stats.getTotalTime())
             .forEach(entry -> {
-                ParticipantStats stats = entry.getValue();
+                ParticipantAggregates.Totals stats = entry.getValue();
                 long totalHours = stats.getTotalTime() / 3600;
                 long totalMinutes = (stats.getTotalTime() % 3600) / 60;
                 writer.printf("  %s: %d hours %d minutes (%d meetings)%n", 
@@ -306,17 +275,16 @@ public class ReportGenerator {
             });
         
         writer.println("\nATTENDANCE RELIABILITY:");
-        participantStats.entrySet().stream()
-            .filter(e -> e.getValue().offlineMeetings > 0)
-            .sorted((a, b) -> {
-                double aRate = (double)(a.getValue().presentCount + a.getValue().lateCount) / a.getValue().offlineMeetings;
-                double bRate = (double)(b.getValue().presentCount + b.getValue().lateCount) / b.getValue().offlineMeetings;
-                return Double.compare(bRate, aRate);
-            })
-            .limit(5)
+        TopK<Map.Entry<String, ParticipantAggregates.Totals>> reliable = new TopK<>(5);
+        for (Map.Entry<String, ParticipantAggregates.Totals> entry : participantStats.entrySet()) {
+            if (entry.getValue().offlineMeetings > 0) {
+                reliable.offer(entry, entry.getValue().getAttendanceRate());
+            }
+        }
+        reliable.toList()
             .forEach(entry -> {
-                ParticipantStats stats = entry.getValue();
-                double attendanceRate = (double)(stats.presentCount + stats.lateCount) / stats.offlineMeetings * 100;
+                ParticipantAggregates.Totals stats = entry.getValue();
+                double attendanceRate = stats.getAttendanceRate() * 100;
                 writer.printf("  %s: %.1f%% (%d/%d meetings)%n", 
                     entry.getKey(), attendanceRate, stats.presentCount + stats.lateCount, stats.offlineMeetings);
             });
@@ -324,7 +292,80 @@ public class ReportGenerator {
         writer.println();
     }
     
-    private static void generateRecommendations(PrintWriter writer, List<App.Meeting> meetings) {
+    private static void generateChatParticipation(PrintWriter writer, ParticipantAggregates aggregates) {
+        writer.println("CHAT PARTICIPATION");
+        writer.println("==================");
+        
+        // One sender's chats at a time: streamed aggregates merge them back from disk per sender
+        aggregates.forEachSenderChats((sender, sent) -> {
+            List<App.Chat> chats = App.inOrder(sent, App.Chat.BY_TIME);
+            double duration = Math.max(1, 
+                Duration.between(chats.get(0).timestamp, chats.get(chats.size() - 1).timestamp).toMinutes());
+            writer.printf("  %s: %d messages, %.1f per 10 minutes, spam score %.1f%n",
+                sender, chats.size(), chats.size() / duration * 10, Analyzers.SpamAnalyzer.calculateSpamScore(chats));
+        });
+        writer.println();
+    }
+    
+    private static void generateCoordinatedMessages(PrintWriter writer, Dataset dataset) {
+        writer.println("COORDINATED MESSAGES");
+        writer.println("====================");
+        
+        List<MessageSimilarity.Cluster> clusters = MessageSimilarity.coordinated(
+            dataset, Analyzers.SpamAnalyzer.COORDINATED_MIN_SENDERS);
+        if (clusters.isEmpty()) {
+            writer.println("No coordinated messages found.");
+            writer.println();
+            return;
+        }
+        
+        clusters.sort((a, b) -> Integer.compare(b.occurrences.size(), a.occurrences.size()));
+        for (MessageSimilarity.Cluster cluster : clusters) {
+            writer.printf("  \"%s\": %d messages from %d participants in %d meetings%n",
+                cluster.occurrences.get(0).chat.message(), cluster.occurrences.size(),
+                cluster.senders.size(), cluster.meetings.size());
+            writer.println("    Variants: " + String.join(" | ", cluster.variants));
+            writer.println("    Senders: " + String.join(", ", cluster.senders));
+        }
+        writer.println();
+    }
+    
+    private static void generateEngagementTrends(PrintWriter writer, List<App.Meeting> meetings) {
+        writer.println("ENGAGEMENT TRENDS");
+        writer.println("=================");
+        
+        EngagementTrends trends = EngagementTrends.build(meetings);
+        String unit = trends.isWeekly() ? "week" : "day";
+        writer.println("Buckets: " + String.join(", ", trends.getBucketLabels()));
+        writer.println();
+        
+        writer.printf("%-15s %-12s %-14s %-10s %-12s %-10s%n",
+            "Participant", "Avg min/" + unit, "Slope min/" + unit, "Attended", "Chats/" + unit, "Acts/" + unit);
+        trends.getSeries().forEach((name, series) -> {
+            writer.printf("%-15s %-12.1f %-14.1f %-10.0f %-12.1f %-10.1f%n",
+                name,
+                series.getRollingAverage(EngagementTrends.ATTENDED_MINUTES),
+                series.getSlope(),
+                series.getRollingAverage(EngagementTrends.OFFLINE_ATTENDED) * series.getBucketCount(),
+                series.getRollingAverage(EngagementTrends.CHATS),
+                series.getRollingAverage(EngagementTrends.ACTIVITIES));
+        });
+        
+        writer.println("\nDECLINING ENGAGEMENT:");
+        if (trends.getDecliningParticipants().isEmpty()) {
+            writer.println("  No participants with declining engagement.");
+        } else {
+            for (String name : trends.getDecliningParticipants()) {
+                EngagementTrends.Series series = trends.getSeries().get(name);
+                writer.printf("  %s: %.1f minutes per %s over the last %d %ss%n",
+                    name, series.getSlope(), unit, series.getBucketCount(), unit);
+            }
+        }
+        writer.println();
+    }
+    
+    private static void generateRecommendations(PrintWriter writer, List<App.Meeting> meetings,
+            ParticipantAggregates aggregates) {
         writer.println("RECOMMENDATIONS");
         writer.println("===============");
         
@@ -348,21 +389,13 @@ public class ReportGenerator {
         Map<String, Integer> participantMeetingCount = new HashMap<>();
         Map<String, Integer> participantAbsenceCount = new HashMap<>();
         
-        for (App.Meeting meeting : meetings) {
-            for (App.Participant participant : meeting.participants) {
-                participantMeetingCount.merge(participant.name, 1, Integer::sum);
-                
-                if ("offline".equals(meeting.type) && participant.attendance != null && 
-                    "absent".equals(participant.attendance.status)) {
-                    participantAbsenceCount.merge(participant.name, 1, Integer::sum);
-                }
-            }
-        }
+        aggregates.totals().forEach((name, totals) -> {
+            if (totals.totalMeetings > 0) participantMeetingCount.put(name, totals.totalMeetings);
+            if (totals.absentCount > 0) participantAbsenceCount.put(name, totals.absentCount);
+        });
         
         writer.println("2. ATTENDANCE ISSUES:");
-        participantAbsenceCount.entrySet().stream()
-            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-            .limit(3)
+        TopK.of(participantAbsenceCount, 3, Integer::doubleValue)
             .forEach(entry -> {
                 int totalMeetingsForParticipant = participantMeetingCount.get(entry.getKey());
                 double absenceRate = (double)entry.getValue() / totalMeetingsForParticipant * 100;
@@ -377,24 +410,7 @@ public class ReportGenerator {
         
         // Engagement analysis
         writer.println("3. ENGAGEMENT OPPORTUNITIES:");
-        Map<String, Long> participantTotalTime = new HashMap<>();
-        
-        for (App.Meeting meeting : meetings) {
-            for (App.Participant participant : meeting.participants) {
-                if ("online".equals(meeting.type)) {
-                    long totalSeconds = participant.sessions.stream()
-                        .mapToLong(s -> s.durationSeconds).sum();
-                    participantTotalTime.merge(participant.name, totalSeconds, Long::sum);
-                } else {
-                    if (participant.attendance != null && participant.attendance.checkIn != null && 
-                        participant.attendance.checkOut != null) {
-                        long totalSeconds = Duration.between(participant.attendance.checkIn, 
-                            participant.attendance.checkOut).getSeconds();
-                        participantTotalTime.merge(participant.name, totalSeconds, Long::sum);
-                    }
-                }
-            }
-        }
+        Map<String, Long> participantTotalTime = aggregates.attendedTime();
         
         // Find participants with low engagement
         long averageTime = participantTotalTime.values().stream()
@@ -422,22 +438,4 @@ public class ReportGenerator {
         writer.println("   - Follow-up with participants showing declining engagement");
         writer.println("   - Regular feedback collection to improve meeting effectiveness");
     }
-    
-    private static class ParticipantStats {
-        int totalMeetings = 0;
-        int onlineMeetings = 0;
-        int offlineMeetings = 0;
-        long totalOnlineTime = 0;
-        long totalOfflineTime = 0;
-        int totalSessions = 0;
-        long totalChatMessages = 0;
-        int presentCount = 0;
-        int lateCount = 0;
-        int absentCount = 0;
-        long totalActivities = 0;
-        
-        long getTotalTime() {
-            return totalOnlineTime + totalOfflineTime;
-        }
-    }
 } 
\ No newline at end of file
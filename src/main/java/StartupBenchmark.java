@@ -0,0 +1,109 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Cold-start benchmark: launches {@code App --no-dashboard} in fresh JVMs on
+ * this class path and times, from process start, the first line of console
+ * analysis, the report being written and the process exit.
+ *
+ * Usage: {@code StartupBenchmark [runs] [--cds=ARCHIVE] [app args...]}
+ * With --cds each run is repeated with -XX:SharedArchiveFile so the two can
+ * be compared. The archive only applies when this JVM's class path is the one
+ * it was dumped with (see the cds profile in pom.xml).
+ */
+public class StartupBenchmark {
+    static final String BANNER_END = "======";
+    static final String REPORT_DONE = "Comprehensive report generated";
+
+    public static void main(String[] args) throws Exception {
+        int runs = 5;
+        String archive = null;
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--cds=")) {
+                archive = arg.substring("--cds=".length());
+            } else if (arg.matches("\\d+")) {
+                runs = Integer.parseInt(arg);
+            } else {
+                appArgs.add(arg);
+            }
+        }
+
+        Path workDir = Files.createTempDirectory("studtrack-startup");
+        try {
+            System.out.printf("%-10s %5s %16s %16s %12s%n", "VARIANT", "RUNS", "FIRST_OUTPUT_MS", "REPORT_MS", "EXIT_MS");
+            print("default", measure(runs, List.of(), appArgs, workDir));
+            if (archive != null) {
+                if (!new File(archive).isFile()) {
+                    System.out.println("❌ CDS archive not found: " + archive);
+                } else {
+                    print("cds", measure(runs, List.of("-XX:SharedArchiveFile=" + archive), appArgs, workDir));
+                }
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(workDir)) {
+                for (Path file : (Iterable<Path>) files::iterator) Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(workDir);
+        }
+    }
+
+    /** Returns per-run {firstOutput, report, exit} in milliseconds. */
+    static List<double[]> measure(int runs, List<String> jvmArgs, List<String> appArgs, Path workDir)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Djava.awt.headless=true");
+        command.addAll(jvmArgs);
+        command.addAll(Arrays.asList("-cp", System.getProperty("java.class.path"), "App", "--no-dashboard"));
+        command.addAll(appArgs);
+
+        List<double[]> results = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).directory(workDir.toFile()).redirectErrorStream(true).start();
+            double firstOutput = Double.NaN;
+            double report = Double.NaN;
+            boolean pastBanner = false;
+            try (BufferedReader out = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    double elapsed = (System.nanoTime() - start) / 1e6;
+                    if (pastBanner && Double.isNaN(firstOutput)) firstOutput = elapsed;
+                    if (line.startsWith(BANNER_END)) pastBanner = true;
+                    if (line.contains(REPORT_DONE)) report = elapsed;
+                }
+            }
+            int status = process.waitFor();
+            double exit = (System.nanoTime() - start) / 1e6;
+            if (status != 0) {
+                throw new IOException("App exited with status " + status + ": " + String.join(" ", command));
+            }
+            results.add(new double[] {firstOutput, report, exit});
+        }
+        return results;
+    }
+
+    private static void print(String variant, List<double[]> results) {
+        System.out.printf("%-10s %5d %16.1f %16.1f %12.1f%n", variant, results.size(),
+            median(results, 0), median(results, 1), median(results, 2));
+    }
+
+    private static double median(List<double[]> results, int column) {
+        List<Double> values = new ArrayList<>();
+        for (double[] r : results) values.add(r[column]);
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+}
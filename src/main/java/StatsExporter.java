@@ -0,0 +1,291 @@
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Machine-readable per-participant and per-meeting statistics, for BI tools
+ * that would otherwise scrape the text report.
+ *
+ * Each table is written as CSV, JSON Lines and a columnar binary file (.col).
+ * Rows are streamed straight from the aggregates through the column
+ * extractors: numbers go to the output as digits or raw bytes, with no
+ * per-row strings or intermediate documents.
+ *
+ * Columnar layout (big-endian, as written by DataOutputStream):
+ *   "STCOL" version:byte rows:int columns:short
+ *   per column: name:text type:byte (0 long, 1 double, 2 string)
+ *   per column, all rows: longs as zigzag varints, doubles as 8 bytes, or a
+ *   string dictionary (size:int, entries:text) followed by one varint code per row
+ * where text is a varint byte length followed by that many UTF-8 bytes, so a
+ * string has no length limit (DataOutputStream.writeUTF stops at 64 KB).
+ * Missing doubles (e.g. a rate with no offline meetings) are NaN in .col,
+ * empty in CSV and null in JSON.
+ */
+public class StatsExporter {
+    static final byte LONG = 0, DOUBLE = 1, STRING = 2;
+    static final byte VERSION = 2;
+
+    /** A named typed column; exactly one of the extractors is set. */
+    static final class Column<T> {
+        final String name;
+        final byte type;
+        final ToLongFunction<T> longValue;
+        final ToDoubleFunction<T> doubleValue;
+        final Function<T, String> stringValue;
+
+        private Column(String name, byte type, ToLongFunction<T> l, ToDoubleFunction<T> d, Function<T, String> s) {
+            this.name = name;
+            this.type = type;
+            this.longValue = l;
+            this.doubleValue = d;
+            this.stringValue = s;
+        }
+
+        static <T> Column<T> ofLong(String name, ToLongFunction<T> f) {
+            return new Column<>(name, LONG, f, null, null);
+        }
+
+        static <T> Column<T> ofDouble(String name, ToDoubleFunction<T> f) {
+            return new Column<>(name, DOUBLE, null, f, null);
+        }
+
+        static <T> Column<T> ofString(String name, Function<T, String> f) {
+            return new Column<>(name, STRING, null, null, f);
+        }
+    }
+
+    static final List<Column<Map.Entry<String, ParticipantAggregates.Totals>>> PARTICIPANT_COLUMNS = List.of(
+        Column.ofString("participant", Map.Entry::getKey),
+        Column.ofLong("meetings", e -> e.getValue().totalMeetings),
+        Column.ofLong("online_meetings", e -> e.getValue().onlineMeetings),
+        Column.ofLong("offline_meetings", e -> e.getValue().offlineMeetings),
+        Column.ofLong("online_seconds", e -> e.getValue().onlineTime),
+        // offlineTime is whole minutes, as the text report shows it; attendedTime keeps the seconds
+        Column.ofLong("offline_seconds", e -> e.getValue().attendedTime - e.getValue().onlineTime),
+        Column.ofLong("sessions", e -> e.getValue().sessionCount),
+        Column.ofLong("chat_messages", e -> e.getValue().chatCount),
+        Column.ofLong("present", e -> e.getValue().presentCount),
+        Column.ofLong("late", e -> e.getValue().lateCount),
+        Column.ofLong("absent", e -> e.getValue().absentCount),
+        Column.ofLong("activities", e -> e.getValue().activities),
+        Column.ofDouble("attendance_rate", e -> e.getValue().offlineMeetings == 0
+            ? Double.NaN : e.getValue().getAttendanceRate())
+    );
+
+    static final List<Column<App.Meeting>> MEETING_COLUMNS = List.of(
+        Column.ofString("meeting_id", m -> m.meetingId),
+        Column.ofString("title", m -> m.title),
+        Column.ofString("date", m -> m.date),
+        Column.ofString("type", m -> m.type),
+        Column.ofString("location", m -> m.location),
+        Column.ofLong("participants", m -> m.participants.size()),
+        Column.ofLong("attended_seconds", StatsExporter::attendedSeconds),
+        Column.ofLong("present", m -> countStatus(m, "present")),
+        Column.ofLong("late", m -> countStatus(m, "late")),
+        Column.ofLong("absent", m -> countStatus(m, "absent")),
+        Column.ofLong("chats", m -> m.chats.size()),
+        Column.ofLong("activities", m -> m.activities.size())
+    );
+
+    /** Writes participants.* and meetings.* in all three formats and returns the number of files. */
+    public static int exportAll(Dataset dataset, Path outDir) throws IOException {
+        Files.createDirectories(outDir);
+        List<Map.Entry<String, ParticipantAggregates.Totals>> participants =
+            new ArrayList<>(ParticipantAggregates.of(dataset.meetings()).totals().entrySet());
+        participants.removeIf(e -> e.getValue().totalMeetings == 0);
+        participants.sort(Map.Entry.comparingByKey());
+
+        writeAll(participants, PARTICIPANT_COLUMNS, outDir.resolve("participants"));
+        writeAll(dataset.meetings(), MEETING_COLUMNS, outDir.resolve("meetings"));
+        return 6;
+    }
+
+    static <T> void writeAll(List<T> rows, List<Column<T>> columns, Path base) throws IOException {
+        long start = Metrics.start();
+        try (OutputStream out = DataFiles.newOutputStream(base + ".csv")) {
+            writeCsv(rows, columns, out);
+        }
+        try (OutputStream out = DataFiles.newOutputStream(base + ".jsonl")) {
+            writeJsonLines(rows, columns, out);
+        }
+        try (OutputStream out = DataFiles.newOutputStream(base + ".col")) {
+            writeColumnar(rows, columns, out);
+        }
+        Metrics.stop("export.stats", start);
+        Metrics.count("stats_rows_exported", rows.size());
+    }
+
+    static <T> void writeCsv(List<T> rows, List<Column<T>> columns, OutputStream stream) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), DataFiles.CHUNK_SIZE);
+        char[] digits = new char[20];
+        for (int c = 0; c < columns.size(); c++) {
+            if (c > 0) out.write(',');
+            writeCsvText(out, columns.get(c).name);
+        }
+        out.write('\n');
+        for (T row : rows) {
+            for (int c = 0; c < columns.size(); c++) {
+                Column<T> column = columns.get(c);
+                if (c > 0) out.write(',');
+                if (column.type == LONG) {
+                    writeDigits(out, column.longValue.applyAsLong(row), digits);
+                } else if (column.type == DOUBLE) {
+                    double value = column.doubleValue.applyAsDouble(row);
+                    if (!Double.isNaN(value)) out.write(Double.toString(value));
+                } else {
+                    writeCsvText(out, column.stringValue.apply(row));
+                }
+            }
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    static <T> void writeJsonLines(List<T> rows, List<Column<T>> columns, OutputStream stream) throws IOException {
+        JsonGenerator json = Json.FACTORY.createGenerator(stream, JsonEncoding.UTF8);
+        json.setRootValueSeparator(null);
+        for (T row : rows) {
+            json.writeStartObject();
+            for (Column<T> column : columns) {
+                json.writeFieldName(column.name);
+                if (column.type == LONG) {
+                    json.writeNumber(column.longValue.applyAsLong(row));
+                } else if (column.type == DOUBLE) {
+                    double value = column.doubleValue.applyAsDouble(row);
+                    if (Double.isNaN(value)) json.writeNull();
+                    else json.writeNumber(value);
+                } else {
+                    json.writeString(column.stringValue.apply(row));
+                }
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+        json.flush();
+    }
+
+    static <T> void writeColumnar(List<T> rows, List<Column<T>> columns, OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeBytes("STCOL");
+        out.writeByte(VERSION);
+        out.writeInt(rows.size());
+        out.writeShort(columns.size());
+        for (Column<T> column : columns) {
+            writeText(out, column.name);
+            out.writeByte(column.type);
+        }
+        for (Column<T> column : columns) {
+            if (column.type == LONG) {
+                for (T row : rows) writeVarLong(out, column.longValue.applyAsLong(row));
+            } else if (column.type == DOUBLE) {
+                for (T row : rows) out.writeDouble(column.doubleValue.applyAsDouble(row));
+            } else {
+                // Dictionary-encode: low-cardinality columns (type, date, location) shrink to a small code per row
+                Map<String, Integer> dictionary = new HashMap<>();
+                List<String> entries = new ArrayList<>();
+                int[] codes = new int[rows.size()];
+                for (int r = 0; r < codes.length; r++) {
+                    String value = column.stringValue.apply(rows.get(r));
+                    codes[r] = dictionary.computeIfAbsent(value == null ? "" : value, v -> {
+                        entries.add(v);
+                        return entries.size() - 1;
+                    });
+                }
+                out.writeInt(entries.size());
+                for (String entry : entries) writeText(out, entry);
+                for (int code : codes) writeVarLong(out, code);
+            }
+        }
+        out.flush();
+    }
+
+    /** Zigzag LEB128: small counts, the common case, take one or two bytes instead of eight. */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static void writeText(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeCsvText(Writer out, String value) throws IOException {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') out.write('"');
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    /** Writes a long in decimal through a reusable buffer instead of Long.toString. */
+    private static void writeDigits(Writer out, long value, char[] buffer) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            out.write(Long.toString(value));
+            return;
+        }
+        int pos = buffer.length;
+        boolean negative = value < 0;
+        long v = negative ? -value : value;
+        do {
+            buffer[--pos] = (char) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        if (negative) buffer[--pos] = '-';
+        out.write(buffer, pos, buffer.length - pos);
+    }
+
+    private static long attendedSeconds(App.Meeting m) {
+        long seconds = 0;
+        for (App.Participant p : m.participants) {
+            if ("online".equals(m.type)) {
+                for (App.Session s : p.sessions) seconds += s.durationSeconds;
+            } else if (p.attendance != null && p.attendance.checkIn != null && p.attendance.checkOut != null) {
+                seconds += Duration.between(p.attendance.checkIn, p.attendance.checkOut).getSeconds();
+            }
+        }
+        return seconds;
+    }
+
+    private static long countStatus(App.Meeting m, String status) {
+        long count = 0;
+        for (App.Participant p : m.participants) {
+            if (p.attendance != null && status.equals(p.attendance.status)) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,100 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Bounded min-heap that keeps the k highest-scoring items seen so far.
+ * Each item's sort key is computed once when it is offered, so selecting the
+ * top k of n entries costs O(n log k) instead of sorting the whole set.
+ * Ties keep insertion order, matching a stable descending sort.
+ */
+public class TopK<T> {
+    private final int k;
+    private final Object[] items;
+    private final double[] keys;
+    private final long[] order;
+    private int size = 0;
+    private long offered = 0;
+
+    public TopK(int k) {
+        this.k = Math.max(0, k);
+        this.items = new Object[this.k];
+        this.keys = new double[this.k];
+        this.order = new long[this.k];
+    }
+
+    public void offer(T item, double key) {
+        long seq = offered++;
+        if (k == 0) return;
+        if (size < k) {
+            items[size] = item;
+            keys[size] = key;
+            order[size] = seq;
+            siftUp(size++);
+        } else if (ranksBelow(0, key, seq)) {
+            // New item beats the current weakest entry at the root
+            items[0] = item;
+            keys[0] = key;
+            order[0] = seq;
+            siftDown(0);
+        }
+    }
+
+    /** Returns the retained items, best first. */
+    @SuppressWarnings("unchecked")
+    public List<T> toList() {
+        Integer[] idx = new Integer[size];
+        for (int i = 0; i < size; i++) idx[i] = i;
+        Arrays.sort(idx, (a, b) -> weaker(a, b) ? 1 : (weaker(b, a) ? -1 : 0));
+        List<T> result = new ArrayList<>(size);
+        for (Integer i : idx) result.add((T) items[i]);
+        return result;
+    }
+
+    /** Top k entries of a map ranked by a key derived from each value. */
+    public static <K, V> List<Map.Entry<K, V>> of(Map<K, V> map, int k, ToDoubleFunction<V> key) {
+        TopK<Map.Entry<K, V>> top = new TopK<>(k);
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            top.offer(entry, key.applyAsDouble(entry.getValue()));
+        }
+        return top.toList();
+    }
+
+    // Heap slot i ranks below (key, seq) when its key is smaller, or equal but offered later
+    private boolean ranksBelow(int i, double key, long seq) {
+        int cmp = Double.compare(keys[i], key);
+        return cmp < 0 || (cmp == 0 && order[i] > seq);
+    }
+
+    private boolean weaker(int a, int b) {
+        return ranksBelow(a, keys[b], order[b]);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!weaker(i, parent)) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1, right = left + 1, weakest = i;
+            if (left < size && weaker(left, weakest)) weakest = left;
+            if (right < size && weaker(right, weakest)) weakest = right;
+            if (weakest == i) return;
+            swap(i, weakest);
+            i = weakest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        Object item = items[a]; items[a] = items[b]; items[b] = item;
+        double key = keys[a]; keys[a] = keys[b]; keys[b] = key;
+        long seq = order[a]; order[a] = order[b]; order[b] = seq;
+    }
+}
@@ -0,0 +1,77 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AnalyticsServerTest {
+    private AnalyticsServer server;
+    private String meetingId;
+
+    @BeforeEach
+    void start() throws IOException {
+        Dataset dataset;
+        try (InputStream in = App.class.getResourceAsStream("/meet_data_with_offline.json")) {
+            dataset = Dataset.load(in);
+        }
+        meetingId = dataset.meetings().get(0).meetingId;
+        server = new AnalyticsServer(dataset);
+        server.start(0);
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    private HttpURLConnection request(String method, String path, Map<String, String> headers) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+        connection.setRequestMethod(method);
+        headers.forEach(connection::setRequestProperty);
+        connection.getResponseCode();
+        return connection;
+    }
+
+    @Test
+    void conditionalGetReturnsNotModified() throws IOException {
+        HttpURLConnection first = request("GET", "/api/meetings/" + meetingId, Map.of());
+        assertEquals(200, first.getResponseCode());
+        String etag = first.getHeaderField("ETag");
+        assertNotNull(etag);
+        try (InputStream body = first.getInputStream()) {
+            assertTrue(new String(body.readAllBytes()).contains(meetingId));
+        }
+
+        assertEquals(304, request("GET", "/api/meetings/" + meetingId, Map.of("If-None-Match", etag)).getResponseCode());
+        assertEquals(304, request("GET", "/api/meetings/" + meetingId,
+            Map.of("If-None-Match", "\"other\", W/" + etag)).getResponseCode());
+        assertEquals(304, request("GET", "/api/meetings/" + meetingId, Map.of("If-None-Match", "*")).getResponseCode());
+        assertEquals(200, request("GET", "/api/meetings/" + meetingId,
+            Map.of("If-None-Match", "\"other\"")).getResponseCode());
+    }
+
+    @Test
+    void unknownPathAndMethodAreRejected() throws IOException {
+        assertEquals(404, request("GET", "/api/nope", Map.of()).getResponseCode());
+        assertEquals(404, request("GET", "/api/meetings/nope", Map.of()).getResponseCode());
+        assertEquals(405, request("POST", "/api/meetings", Map.of()).getResponseCode());
+    }
+
+    @Test
+    void ifNoneMatchParsing() {
+        assertTrue(AnalyticsServer.matches("\"a\"", "\"a\""));
+        assertTrue(AnalyticsServer.matches(" \"b\" , W/\"a\"", "\"a\""));
+        assertTrue(AnalyticsServer.matches(" * ", "\"a\""));
+        assertFalse(AnalyticsServer.matches("\"b\"", "\"a\""));
+        assertFalse(AnalyticsServer.matches(null, "\"a\""));
+    }
+}
@@ -0,0 +1,87 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class AttendanceAnomaliesTest {
+
+    private static App.Meeting offline(String id, String location, LocalDateTime in, LocalDateTime out) {
+        App.Attendance attendance = new App.Attendance("present", in, out, 0, 0);
+        return new App.Meeting(id, "Lab", in.toLocalDate().toString(), "offline", location,
+            List.of(new App.Participant("Alice", List.of(), attendance)), List.of(), List.of());
+    }
+
+    private static List<String> overlaps(List<App.Meeting> meetings) {
+        StringWriter text = new StringWriter();
+        AttendanceAnomalies detector = new AttendanceAnomalies(new PrintWriter(text));
+        meetings.forEach(detector::accept);
+        detector.finish();
+        return text.toString().lines()
+            .filter(line -> line.contains("ROOM_OVERLAP"))
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    void findsOverlapWithManyIntervalsInBetween() {
+        LocalDateTime day = LocalDateTime.of(2024, 3, 1, 9, 0);
+        List<App.Meeting> meetings = new ArrayList<>();
+        meetings.add(offline("A", "Lab 101", day, day.plusHours(2)));
+        for (int i = 1; i <= 10; i++) {
+            LocalDateTime later = day.plusHours(2 + 3 * i);
+            meetings.add(offline("B" + i, "Lab 101", later, later.plusHours(1)));
+        }
+        meetings.add(offline("C", "Lab 202", day.plusMinutes(30), day.plusMinutes(90)));
+
+        List<String> found = overlaps(meetings);
+        assertEquals(1, found.size());
+        assertTrue(found.get(0).startsWith("C\t"));
+        assertTrue(found.get(0).contains("also at Lab 101 (A)"));
+    }
+
+    @Test
+    void findsOverlapWhenMeetingsArriveOutOfOrder() {
+        LocalDateTime day = LocalDateTime.of(2024, 3, 1, 9, 0);
+        List<String> found = overlaps(List.of(
+            offline("Late", "Lab 202", day.plusHours(3), day.plusHours(5)),
+            offline("Early", "Lab 101", day, day.plusHours(1)),
+            offline("Long", "Lab 303", day.minusHours(1), day.plusHours(4))));
+
+        assertEquals(2, found.size());
+        assertTrue(found.get(0).startsWith("Long\t") && found.get(0).contains("(Early)"));
+        assertTrue(found.get(1).startsWith("Long\t") && found.get(1).contains("(Late)"));
+    }
+
+    @Test
+    void oldIntervalsAreDroppedPastTheHorizon() {
+        LocalDateTime day = LocalDateTime.of(2024, 3, 1, 9, 0);
+        StringWriter text = new StringWriter();
+        AttendanceAnomalies detector = new AttendanceAnomalies(new PrintWriter(text));
+        for (int i = 0; i < 1000; i++) {
+            LocalDateTime start = day.plusDays(i);
+            detector.accept(offline("M" + i, "Lab " + (i % 3), start, start.plusHours(2)));
+        }
+        long days = AttendanceAnomalies.DEFAULT_HORIZON.toDays();
+        assertTrue(detector.retainedIntervals() <= days + 2, "retained " + detector.retainedIntervals());
+
+        // Within the horizon a late record still finds its overlap
+        LocalDateTime recent = day.plusDays(999 - days + 1);
+        detector.accept(offline("Late", "Lab 9", recent.plusMinutes(30), recent.plusHours(1)));
+        assertTrue(text.toString().contains("Late\t"));
+    }
+
+    @Test
+    void sameLocationOrTouchingIntervalsAreNotOverlaps() {
+        LocalDateTime day = LocalDateTime.of(2024, 3, 1, 9, 0);
+        assertTrue(overlaps(List.of(
+            offline("A", "Lab 101", day, day.plusHours(1)),
+            offline("B", "Lab 202", day.plusHours(1), day.plusHours(2)),
+            offline("C", "Lab 101", day.plusMinutes(30), day.plusHours(1)))).isEmpty());
+    }
+}
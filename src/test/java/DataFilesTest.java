@@ -0,0 +1,97 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DataFilesTest {
+
+    private static byte[] sample(int size) {
+        byte[] data = new byte[size];
+        Random random = new Random(7);
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) ('a' + random.nextInt(8));
+        }
+        return data;
+    }
+
+    private static Path gzip(Path dir, byte[] data) throws IOException {
+        Path file = dir.resolve("data.json.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(data);
+        }
+        return file;
+    }
+
+    @Test
+    void slowReaderGetsEveryChunk(@TempDir Path dir) throws Exception {
+        // The reader pauses after every chunk, so the queue is full when the decompressor reaches the end
+        byte[] data = sample(DataFiles.CHUNK_SIZE * DataFiles.CHUNKS_AHEAD * 2 + 123);
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        try (InputStream in = DataFiles.openInput(gzip(dir, data))) {
+            byte[] buffer = new byte[DataFiles.CHUNK_SIZE];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                read.write(buffer, 0, n);
+                Thread.sleep(10);
+            }
+            assertEquals(-1, in.read());
+        }
+        assertArrayEquals(data, read.toByteArray());
+    }
+
+    @Test
+    void truncatedGzipFailsInsteadOfEndingEarly(@TempDir Path dir) throws Exception {
+        byte[] data = sample(DataFiles.CHUNK_SIZE * 4);
+        Path file = gzip(dir, data);
+        byte[] compressed = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(compressed, compressed.length / 2));
+        try (InputStream in = DataFiles.openInput(file)) {
+            assertThrows(IOException.class, in::readAllBytes);
+        }
+    }
+
+    @Test
+    void failedDecompressorProcessFailsTheRead() throws Exception {
+        try (InputStream in = DataFiles.openProcess(new ProcessBuilder("sh", "-c", "printf partial; exit 3"), "bad.zst")) {
+            byte[] head = in.readNBytes(7);
+            assertEquals("partial", new String(head, StandardCharsets.UTF_8));
+            IOException e = assertThrows(IOException.class, in::read);
+            assertTrue(e.getMessage().contains("status 3"), e.getMessage());
+        }
+    }
+
+    @Test
+    void successfulDecompressorProcessEndsNormally() throws Exception {
+        try (InputStream in = DataFiles.openProcess(new ProcessBuilder("sh", "-c", "printf done"), "ok.zst")) {
+            assertEquals("done", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void closingEarlyStopsTheProcess() throws Exception {
+        InputStream in = DataFiles.openProcess(new ProcessBuilder("sh", "-c", "exec yes"), "endless.zst");
+        assertEquals('y', in.read());
+        List<ProcessHandle> children = ProcessHandle.current().children()
+            .filter(p -> p.info().command().map(c -> c.endsWith("yes")).orElse(false))
+            .toList();
+        assertEquals(1, children.size());
+        in.close();
+        children.get(0).onExit().get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,71 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DatasetTest {
+
+    private static String meeting(String id, String date) {
+        return "{\"meeting_id\":\"" + id + "\",\"title\":\"Math\",\"date\":\"" + date + "\",\"participants\":[]}";
+    }
+
+    private static InputStream document(String... elements) {
+        String json = "{\"meetings\":[" + String.join(",", elements) + "]}";
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> ids(Dataset dataset) {
+        return dataset.meetings().stream().map(m -> m.meetingId).collect(Collectors.toList());
+    }
+
+    @Test
+    void strictLoadFailsOnNonObjectMeeting() {
+        for (String bad : List.of("null", "42", "\"M\"", "[1, {\"a\": 2}]")) {
+            IOException e = assertThrows(IOException.class,
+                () -> Dataset.load(document(meeting("M1", "2024-03-01"), bad, meeting("M2", "2024-03-02"))));
+            assertTrue(e.getMessage().contains("#2"), e.getMessage());
+        }
+    }
+
+    @Test
+    void strictLoadFailsOnInvalidMeeting() {
+        IOException e = assertThrows(IOException.class,
+            () -> Dataset.load(document(meeting("M1", "2024-03-01"), meeting("M2", "03/02/2024"))));
+        assertTrue(e.getMessage().contains("bad date"), e.getMessage());
+    }
+
+    @Test
+    void quarantineKeepsTheMeetingsAfterABadRecord(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("rejected.jsonl");
+        Dataset dataset;
+        try (Quarantine quarantine = new Quarantine(file)) {
+            dataset = Dataset.load(document(
+                meeting("M1", "2024-03-01"), "null", "[1, 2]", meeting("M2", "nope"), meeting("M3", "2024-03-03")),
+                new IdentityResolver(), quarantine);
+            assertEquals(3, quarantine.getCount());
+        }
+
+        assertEquals(List.of("M1", "M3"), ids(dataset));
+        List<String> lines = Files.readAllLines(file);
+        assertTrue(lines.get(0).contains("meeting #2 is not an object"), lines.get(0));
+        assertTrue(lines.get(1).contains("meeting #3 is not an object"), lines.get(1));
+        assertTrue(lines.get(2).contains("bad date"), lines.get(2));
+    }
+
+    @Test
+    void wellFormedDocumentLoadsEveryMeeting() throws IOException {
+        Dataset dataset = Dataset.load(document(meeting("M1", "2024-03-01"), meeting("M2", "2024-03-02")));
+        assertEquals(List.of("M1", "M2"), ids(dataset));
+    }
+}
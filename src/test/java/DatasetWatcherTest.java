@@ -0,0 +1,37 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DatasetWatcherTest {
+
+    private static void write(Path file, String id) throws Exception {
+        Files.writeString(file, "{\"meetings\":[{\"meeting_id\":\"" + id
+            + "\",\"title\":\"Math\",\"date\":\"2024-03-01\",\"participants\":[]}]}");
+    }
+
+    private static List<String> ids(Dataset dataset) {
+        return dataset.meetings().stream().map(m -> m.meetingId).sorted().collect(Collectors.toList());
+    }
+
+    @Test
+    void rescanPicksUpNewFilesAndDropsDeletedOnes(@TempDir Path dir) throws Exception {
+        write(dir.resolve("a.json"), "A");
+        write(dir.resolve("b.json"), "B");
+        DatasetWatcher watcher = new DatasetWatcher(dir, new IdentityResolver());
+        assertEquals(List.of("A", "B"), ids(watcher.loadAll()));
+
+        Files.delete(dir.resolve("a.json"));
+        write(dir.resolve("c.json"), "C");
+        Files.writeString(dir.resolve("notes.txt"), "ignored");
+
+        assertTrue(watcher.reload(watcher.rescan()));
+        assertEquals(List.of("B", "C"), ids(watcher.getCurrent()));
+    }
+}
@@ -0,0 +1,84 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class EngagementTrendsTest {
+
+    private static App.Meeting online(LocalDate date, String... names) {
+        List<App.Participant> participants = new ArrayList<>();
+        LocalDateTime join = date.atTime(9, 0);
+        for (String name : names) {
+            participants.add(new App.Participant(name,
+                List.of(new App.Session(join, join.plusMinutes(60), 3600)), null));
+        }
+        return new App.Meeting("m-" + date, "Class", date.toString(), "online", "",
+            participants, List.of(), List.of());
+    }
+
+    @Test
+    void participantWhoStopsAttendingIsDeclining() {
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        List<App.Meeting> meetings = List.of(
+            online(day, "Alice", "Bob"),
+            online(day.plusDays(1), "Alice"),
+            online(day.plusDays(2), "Alice"));
+        EngagementTrends trends = EngagementTrends.build(meetings, false, 7);
+
+        EngagementTrends.Series bob = trends.getSeries().get("Bob");
+        assertEquals(3, bob.getBucketCount());
+        assertEquals(List.of(60.0, 0.0, 0.0), new ArrayList<>(bob.getWindow().values()));
+        assertTrue(trends.getDecliningParticipants().contains("Bob"));
+        assertFalse(trends.getDecliningParticipants().contains("Alice"));
+    }
+
+    @Test
+    void dropoutOlderThanTheWindowStaysDeclining() {
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        List<App.Meeting> meetings = new ArrayList<>();
+        meetings.add(online(day, "Alice", "Bob"));
+        for (int i = 1; i <= 10; i++) {
+            meetings.add(online(day.plusDays(i), "Alice"));
+        }
+        EngagementTrends trends = EngagementTrends.build(meetings, false, 4);
+
+        EngagementTrends.Series bob = trends.getSeries().get("Bob");
+        assertEquals(4, bob.getBucketCount());
+        assertEquals(4, bob.getWindow().size());
+        assertEquals(0.0, bob.getRollingAverage(EngagementTrends.ATTENDED_MINUTES));
+        assertTrue(trends.getDecliningParticipants().contains("Bob"));
+        assertEquals(60.0, trends.getSeries().get("Alice").getRollingAverage(EngagementTrends.ATTENDED_MINUTES));
+    }
+
+    @Test
+    void bucketsAreDaysWithMeetingsOnly() {
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        EngagementTrends trends = EngagementTrends.build(List.of(
+            online(day, "Alice"),
+            online(day.plusDays(7), "Alice"),
+            online(day.plusDays(7), "Alice")), false, 7);
+
+        assertEquals(List.of("2024-03-01", "2024-03-08"), trends.getBucketLabels());
+        EngagementTrends.Series alice = trends.getSeries().get("Alice");
+        assertEquals(List.of(60.0, 120.0), new ArrayList<>(alice.getWindow().values()));
+    }
+
+    @Test
+    void weeklyBuckets() {
+        LocalDate day = LocalDate.of(2024, 3, 4);
+        EngagementTrends trends = EngagementTrends.build(List.of(
+            online(day, "Alice"),
+            online(day.plusDays(2), "Alice"),
+            online(day.plusDays(8), "Alice")), true, 7);
+
+        assertTrue(trends.isWeekly());
+        assertEquals(List.of("2024-03-04", "2024-03-11"), trends.getBucketLabels());
+        assertEquals(List.of(120.0, 60.0), new ArrayList<>(trends.getSeries().get("Alice").getWindow().values()));
+    }
+}
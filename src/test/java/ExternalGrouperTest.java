@@ -0,0 +1,87 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+class ExternalGrouperTest {
+
+    private static final ExternalGrouper.Codec<String> TEXT = new ExternalGrouper.Codec<>() {
+        @Override
+        public void write(DataOutput out, String value) throws IOException {
+            out.writeUTF(value);
+        }
+
+        @Override
+        public String read(DataInput in, String key) throws IOException {
+            return in.readUTF();
+        }
+    };
+
+    private static Map<String, List<String>> groups(ExternalGrouper<String> grouper) {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        grouper.forEachGroup((key, values) -> result.put(key, new ArrayList<>(values)));
+        return result;
+    }
+
+    @Test
+    void spilledGroupsMergeInKeyAndInsertionOrder() {
+        // A budget of a few records forces a run file every handful of adds
+        ExternalGrouper<String> grouper = new ExternalGrouper<>(TEXT, 500, 100);
+        Map<String, List<String>> expected = new TreeMap<>();
+        for (int i = 0; i < 200; i++) {
+            String key = "p" + (i * 7 % 13);
+            String value = key + "#" + i;
+            grouper.add(key, value);
+            expected.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        }
+
+        assertTrue(grouper.getRunCount() > 10, "runs: " + grouper.getRunCount());
+        Map<String, List<String>> merged = groups(grouper);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(merged.keySet()));
+        assertEquals(expected, merged);
+    }
+
+    @Test
+    void unspilledGroupsComeFromMemory() {
+        ExternalGrouper<String> grouper = new ExternalGrouper<>(TEXT, Long.MAX_VALUE, 100);
+        grouper.add("b", "1");
+        grouper.add("a", "2");
+        grouper.add("b", "3");
+
+        assertEquals(0, grouper.getRunCount());
+        assertEquals(Map.of("a", List.of("2"), "b", List.of("1", "3")), groups(grouper));
+    }
+
+    @Test
+    void streamedAggregatesMatchLoadedOnes() throws IOException {
+        Dataset dataset;
+        try (InputStream in = App.class.getResourceAsStream("/meet_data_with_offline.json")) {
+            dataset = Dataset.load(in);
+        }
+        ParticipantAggregates loaded = ParticipantAggregates.of(dataset.meetings());
+        ParticipantAggregates streamed;
+        try (InputStream in = App.class.getResourceAsStream("/meet_data_with_offline.json")) {
+            streamed = ParticipantAggregates.stream(in, new IdentityResolver(), null, 1);
+        }
+
+        assertEquals(loaded.attendedTime(), streamed.attendedTime());
+        assertEquals(loaded.chatCounts(), streamed.chatCounts());
+        Map<String, List<String>> loadedChats = new TreeMap<>();
+        loaded.forEachSenderChats((sender, chats) ->
+            chats.forEach(c -> loadedChats.computeIfAbsent(sender, k -> new ArrayList<>()).add(c.timestamp + " " + c.message())));
+        Map<String, List<String>> streamedChats = new TreeMap<>();
+        streamed.forEachSenderChats((sender, chats) ->
+            chats.forEach(c -> streamedChats.computeIfAbsent(sender, k -> new ArrayList<>()).add(c.timestamp + " " + c.message())));
+        assertEquals(loadedChats, streamedChats);
+    }
+}
@@ -0,0 +1,78 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IdentityResolverTest {
+
+    @Test
+    void normalizedVariantsShareOneName() {
+        IdentityResolver identities = new IdentityResolver();
+        assertEquals("Alice", identities.resolve("Alice"));
+        assertEquals("Alice", identities.resolve("alice "));
+        assertEquals("Alice", identities.resolve("ALICE"));
+        assertEquals("Alice", identities.resolve("Alíce"));
+        assertEquals(3, identities.getMergedVariants().size());
+    }
+
+    @Test
+    void initialsAndTyposMergeIntoFullName() {
+        IdentityResolver identities = new IdentityResolver();
+        assertEquals("Alice Smith", identities.resolve("Alice Smith"));
+        assertEquals("Alice Smith", identities.resolve("Alice S."));
+        assertEquals("Alexandra Montgomery", identities.resolve("Alexandra Montgomery"));
+        assertEquals("Alexandra Montgomery", identities.resolve("Alexandra Montgomeryy"));
+        assertEquals("Bob Jones", identities.resolve("Bob Jones"));
+        assertEquals("Alice Stone", identities.resolve("Alice Stone"));
+    }
+
+    @Test
+    void bareNameDoesNotJoinTwoSurnames() {
+        IdentityResolver identities = new IdentityResolver();
+        assertEquals("Alice", identities.resolve("Alice"));
+        assertEquals("Alice", identities.resolve("Alice S."));
+        assertEquals("Alice T.", identities.resolve("Alice T."));
+        assertEquals("Alice", identities.resolve("alice s"));
+    }
+
+    @Test
+    void ambiguousBareNameStaysSeparate() {
+        IdentityResolver identities = new IdentityResolver();
+        assertEquals("Alice S.", identities.resolve("Alice S."));
+        assertEquals("Alice T.", identities.resolve("Alice T."));
+        assertEquals("Alice", identities.resolve("Alice"));
+
+        IdentityResolver single = new IdentityResolver();
+        assertEquals("Alice S.", single.resolve("Alice S."));
+        assertEquals("Alice S.", single.resolve("Alice"));
+    }
+
+    @Test
+    void commonFirstNameStillFindsSurnameInitial() {
+        IdentityResolver identities = new IdentityResolver();
+        for (int i = 0; i < 500; i++) {
+            identities.resolve("John " + (char) ('a' + i % 18) + "x" + i + "son");
+        }
+        assertEquals("John Smith", identities.resolve("John Smith"));
+        assertEquals("John Smith", identities.resolve("John S."));
+    }
+
+    @Test
+    void cacheRoundTrip(@TempDir Path dir) throws Exception {
+        Path cache = dir.resolve("identities.tsv");
+        IdentityResolver first = new IdentityResolver();
+        first.resolve("Alice");
+        first.resolve("Alice S.");
+        first.save(cache);
+        assertTrue(Files.readString(cache).contains("Alice S.\tAlice"));
+
+        IdentityResolver second = new IdentityResolver();
+        second.load(cache);
+        assertEquals("Alice", second.resolve("Alice S."));
+        assertEquals("Alice T.", second.resolve("Alice T."));
+    }
+}
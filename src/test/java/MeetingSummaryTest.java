@@ -0,0 +1,103 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MeetingSummaryTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    private static App.Session session(int fromMinute, int toMinute) {
+        LocalDateTime join = START.plusMinutes(fromMinute);
+        LocalDateTime leave = START.plusMinutes(toMinute);
+        return new App.Session(join, leave, Duration.between(join, leave).getSeconds());
+    }
+
+    private static App.Meeting online(App.Participant... participants) {
+        return new App.Meeting("M1", "Math", "2024-03-01", "online", "", List.of(participants), List.of(), List.of());
+    }
+
+    private static App.Participant attendee(String name, String status, Integer fromMinute, Integer toMinute) {
+        LocalDateTime in = fromMinute == null ? null : START.plusMinutes(fromMinute);
+        LocalDateTime out = toMinute == null ? null : START.plusMinutes(toMinute);
+        return new App.Participant(name, List.of(), new App.Attendance(status, in, out, 0, 0));
+    }
+
+    @Test
+    void peakCountsOverlappingSessions() {
+        MeetingSummary summary = MeetingSummary.of(online(
+            new App.Participant("Alice", List.of(session(0, 30), session(40, 60)), null),
+            new App.Participant("Bob", List.of(session(10, 50)), null),
+            new App.Participant("Eve", List.of(session(45, 55)), null)));
+
+        assertEquals(3, summary.peakConcurrency);
+        assertEquals(4, summary.sessions);
+        assertEquals(60 * 60, summary.spanSeconds);
+    }
+
+    @Test
+    void leaveAndJoinAtTheSameMomentDoNotOverlap() {
+        MeetingSummary summary = MeetingSummary.of(online(
+            new App.Participant("Alice", List.of(session(0, 30)), null),
+            new App.Participant("Bob", List.of(session(30, 60)), null),
+            new App.Participant("Eve", List.of(session(60, 90)), null)));
+
+        assertEquals(1, summary.peakConcurrency);
+    }
+
+    @Test
+    void peakMatchesBruteForceOnManySessions() {
+        List<App.Participant> participants = new ArrayList<>();
+        int[][] spans = new int[200][];
+        for (int i = 0; i < spans.length; i++) {
+            int from = (i * 37) % 240;
+            spans[i] = new int[] {from, from + 5 + (i * 13) % 60};
+            participants.add(new App.Participant("P" + i, List.of(session(spans[i][0], spans[i][1])), null));
+        }
+        int expected = 0;
+        for (int minute = 0; minute < 320; minute++) {
+            int open = 0;
+            for (int[] span : spans) {
+                if (span[0] <= minute && minute < span[1]) open++;
+            }
+            expected = Math.max(expected, open);
+        }
+
+        MeetingSummary summary = MeetingSummary.of(online(participants.toArray(new App.Participant[0])));
+        assertEquals(expected, summary.peakConcurrency);
+    }
+
+    @Test
+    void offlineAttendanceCountsAndCheckInOverlap() {
+        App.Meeting meeting = new App.Meeting("M2", "Lab", "2024-03-01", "offline", "Lab 101", List.of(
+            attendee("Alice", "present", 0, 60),
+            attendee("Bob", "late", 15, 45),
+            attendee("Eve", "absent", null, null),
+            attendee("Dan", "present", 50, 90)), List.of(), List.of());
+        MeetingSummary summary = MeetingSummary.of(meeting);
+
+        assertEquals(2, summary.peakConcurrency);
+        assertEquals(2, summary.present);
+        assertEquals(1, summary.late);
+        assertEquals(1, summary.absent);
+        assertEquals(75.0, summary.getAttendanceRate(), 1e-9);
+        assertTrue(Double.isNaN(MeetingSummary.of(online()).getAttendanceRate()));
+    }
+
+    @Test
+    void comparisonAveragesOnlyMeetingsWithParticipants() {
+        App.Meeting attended = new App.Meeting("M2", "Lab", "2024-03-01", "offline", "Lab 101", List.of(
+            attendee("Alice", "present", 0, 60),
+            attendee("Bob", "absent", null, null)), List.of(), List.of());
+        App.Meeting empty = new App.Meeting("M3", "Lab", "2024-03-08", "offline", "Lab 101", List.of(), List.of(), List.of());
+
+        MeetingComparison.Group lab = MeetingComparison.groupBy(
+            List.of(MeetingSummary.of(attended), MeetingSummary.of(empty)), MeetingComparison.By.TITLE, null).get("Lab");
+        assertEquals(2, lab.offlineMeetings);
+        assertEquals(50.0, lab.getAttendanceRate(), 1e-9);
+    }
+}
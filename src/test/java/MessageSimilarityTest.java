@@ -0,0 +1,78 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MessageSimilarityTest {
+
+    private static Dataset meetingWith(String... senderMessagePairs) {
+        List<App.Chat> chats = new ArrayList<>();
+        LocalDateTime time = LocalDateTime.of(2024, 3, 1, 10, 0);
+        for (int i = 0; i < senderMessagePairs.length; i += 2) {
+            chats.add(new App.Chat(time.plusSeconds(i), senderMessagePairs[i], senderMessagePairs[i + 1]));
+        }
+        return new Dataset(List.of(new App.Meeting("M1", "Class", "2024-03-01", "online", "",
+            List.of(), chats, List.of())));
+    }
+
+    @Test
+    void variantsOfOneMessageFormOneCluster() {
+        Dataset dataset = meetingWith(
+            "Alice", "Please submit the homework by Friday!",
+            "Bob", "please submit the homework by friday",
+            "Carol", "Please submit the homework by Friday.",
+            "Dan", "Pls submit the homework by Friday",
+            "Eve", "What time does the lab start tomorrow?");
+
+        List<MessageSimilarity.Cluster> coordinated = MessageSimilarity.coordinated(dataset, 3);
+        assertEquals(1, coordinated.size());
+        MessageSimilarity.Cluster cluster = coordinated.get(0);
+        assertEquals(List.of("Alice", "Bob", "Carol", "Dan"), new ArrayList<>(cluster.senders));
+        assertEquals(4, cluster.occurrences.size());
+    }
+
+    @Test
+    void manyMembersOfOneBucketAreAllMatched() {
+        // More identical-prefix texts than a bucket keeps, so later ones must still match kept members
+        List<String> pairs = new ArrayList<>();
+        for (int i = 0; i < MessageSimilarity.BUCKET_MEMBERS * 3; i++) {
+            pairs.add("P" + i);
+            pairs.add("the quiz answers are on page forty two " + "!".repeat(i % 3) + (i % 2 == 0 ? "" : " ok"));
+        }
+        Dataset dataset = meetingWith(pairs.toArray(new String[0]));
+        List<MessageSimilarity.Cluster> coordinated = MessageSimilarity.coordinated(dataset, 3);
+        assertEquals(1, coordinated.size());
+        assertEquals(MessageSimilarity.BUCKET_MEMBERS * 3, coordinated.get(0).senders.size());
+    }
+
+    @Test
+    void clustersAreComputedOncePerDataset() {
+        Dataset dataset = meetingWith("Alice", "hello there", "Bob", "hello there");
+        assertSame(dataset.clusters(), dataset.clusters());
+    }
+
+    @Test
+    void nearDuplicateRespectsLengthBound() {
+        assertTrue(MessageSimilarity.isNearDuplicate("Hello, World!", "hello world"));
+        assertTrue(!MessageSimilarity.isNearDuplicate("ok", "this is a much longer message"));
+    }
+
+    @Test
+    void cachedSignaturesAgreeWithTextComparison() {
+        String[] texts = {"Hello, World!", "hello world", "ok", "this is a much longer message",
+            "this is a much longer massage", "Yes sir", "yes sir!!", "no"};
+        LocalDateTime time = LocalDateTime.of(2024, 3, 1, 10, 0);
+        MessageSimilarity.Signatures signatures = new MessageSimilarity.Signatures();
+        for (String a : texts) {
+            for (String b : texts) {
+                boolean cached = signatures.isNearDuplicate(new App.Chat(time, "A", a), new App.Chat(time, "B", b));
+                assertEquals(MessageSimilarity.isNearDuplicate(a, b), cached, a + " / " + b);
+            }
+        }
+    }
+}
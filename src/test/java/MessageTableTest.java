@@ -0,0 +1,33 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class MessageTableTest {
+
+    @AfterEach
+    void resetCompression() {
+        MessageTable.setCompression(false);
+    }
+
+    @Test
+    void equalTextsShareOneEntry() {
+        MessageTable.Message a = MessageTable.intern(new String("Yes sir"));
+        MessageTable.Message b = MessageTable.intern(new String("Yes sir"));
+        assertSame(a, b);
+        assertNotSame(a, MessageTable.intern("Yes sir!"));
+        assertEquals("Yes sir", a.text());
+    }
+
+    @Test
+    void longMessagesRoundTripWhenCompressed() {
+        MessageTable.setCompression(true);
+        String text = "The lab report is due next week. ".repeat(20);
+        MessageTable.Message a = MessageTable.intern(text);
+        MessageTable.Message b = MessageTable.intern(new String(text));
+        assertSame(a, b);
+        assertEquals(text, a.text());
+    }
+}
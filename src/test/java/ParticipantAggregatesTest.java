@@ -0,0 +1,70 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ParticipantAggregatesTest {
+
+    private static List<App.Meeting> meetings() throws IOException {
+        try (InputStream in = App.class.getResourceAsStream("/meet_data_with_offline.json")) {
+            return Dataset.load(in).meetings();
+        }
+    }
+
+    /** Session durations per participant; offline sessions are rebuilt on every call. */
+    private static Map<String, List<Long>> durations(Map<String, List<App.Session>> sessions) {
+        Map<String, List<Long>> result = new TreeMap<>();
+        sessions.forEach((name, list) -> list.forEach(s ->
+            result.computeIfAbsent(name, k -> new ArrayList<>()).add(s.durationSeconds)));
+        return result;
+    }
+
+    @AfterEach
+    void sequential() {
+        ParticipantAggregates.setParallelism(1);
+    }
+
+    @Test
+    void eventsFollowMeetingOrder() throws IOException {
+        List<App.Meeting> meetings = meetings();
+        Map<String, List<App.Session>> sessions = new HashMap<>();
+        for (App.Meeting m : meetings) {
+            App.getMeetingSessions(m).forEach((name, s) -> sessions.computeIfAbsent(name, k -> new ArrayList<>()).addAll(s));
+        }
+
+        ParticipantAggregates aggregates = ParticipantAggregates.of(meetings);
+        assertEquals(durations(sessions), durations(aggregates.sessions()));
+        assertEquals(aggregates.totalTime().keySet(), aggregates.sessions().keySet());
+        aggregates.chats().forEach((sender, chats) ->
+            assertEquals(aggregates.chatCounts().get(sender).longValue(), chats.size()));
+    }
+
+    @Test
+    void parallelCountersMatchSequential() throws IOException {
+        // Repeat the history so the pool splits it into several leaves
+        List<App.Meeting> meetings = new ArrayList<>();
+        for (int i = 0; i < 20; i++) meetings.addAll(meetings());
+        ParticipantAggregates sequential = ParticipantAggregates.of(meetings);
+        ParticipantAggregates.setParallelism(4);
+        ParticipantAggregates parallel = ParticipantAggregates.of(meetings);
+
+        assertEquals(sequential.attendedTime(), parallel.attendedTime());
+        assertEquals(sequential.totalTime(), parallel.totalTime());
+        assertEquals(sequential.chatCounts(), parallel.chatCounts());
+        sequential.totals().forEach((name, t) -> {
+            ParticipantAggregates.Totals p = parallel.totals().get(name);
+            assertEquals(t.totalMeetings, p.totalMeetings);
+            assertEquals(t.sessionCount, p.sessionCount);
+            assertEquals(t.getTotalTime(), p.getTotalTime());
+        });
+        assertEquals(durations(sequential.sessions()), durations(parallel.sessions()));
+    }
+}
@@ -0,0 +1,52 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PresenceCubeTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    private static App.Session session(LocalDateTime join, LocalDateTime leave) {
+        return new App.Session(join, leave, Duration.between(join, leave).getSeconds());
+    }
+
+    private static App.Meeting online(List<App.Participant> participants, List<App.Chat> chats) {
+        return new App.Meeting("M1", "Math", "2024-03-01", "online", "", participants, chats, List.of());
+    }
+
+    @Test
+    void spansEarliestToLatestMinute() {
+        PresenceCube cube = PresenceCube.of(online(List.of(
+            new App.Participant("Alice", List.of(session(START, START.plusMinutes(30))), null),
+            new App.Participant("Bob", List.of(session(START.plusMinutes(10), START.plusMinutes(45))), null)),
+            List.of(new App.Chat(START.plusMinutes(20), "Bob", "hi"))));
+
+        assertEquals(START, cube.getStart());
+        assertEquals(45, cube.getMinutes());
+        assertTrue(cube.isPresent(0, 29));
+        assertFalse(cube.isPresent(0, 30));
+        assertEquals(1, cube.getChatCount(20));
+        assertTrue(cube.isActive(1, 20));
+    }
+
+    @Test
+    void outlyingTimestampsStayOutOfTheCube() {
+        PresenceCube cube = PresenceCube.of(online(List.of(
+            new App.Participant("Alice", List.of(session(START, START.plusMinutes(30))), null),
+            // Leave typed with the wrong year: clipped to the end of the meeting's window
+            new App.Participant("Bob", List.of(session(START.plusMinutes(10), START.plusYears(1))), null)),
+            List.of(new App.Chat(START.minusYears(3), "Alice", "old"), new App.Chat(START.plusMinutes(5), "Alice", "hi"))));
+
+        assertEquals(START, cube.getStart());
+        long window = Duration.ofDays(1).plus(PresenceCube.OVERNIGHT).toMinutes();
+        assertTrue(cube.getMinutes() <= window, "minutes: " + cube.getMinutes());
+        assertEquals(1, cube.presenceCounts()[0]);
+        assertEquals(2, cube.presenceCounts()[10]);
+        assertEquals(1, cube.getChatCount(5));
+    }
+}
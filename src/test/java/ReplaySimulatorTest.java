@@ -0,0 +1,80 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ReplaySimulatorTest {
+
+    private static ReplaySimulator.Event event(long seconds, ReplaySimulator.Kind kind, String participant) {
+        return new ReplaySimulator.Event(seconds * 1_000_000_000L, kind, 0, participant);
+    }
+
+    @Test
+    void leaveBeforeJoinDoesNotGoNegative() {
+        ReplaySimulator.LiveState state = new ReplaySimulator.LiveState(1);
+        state.apply(event(0, ReplaySimulator.Kind.LEAVE, "Alice"));
+        state.apply(event(1, ReplaySimulator.Kind.JOIN, "Bob"));
+        state.apply(event(2, ReplaySimulator.Kind.JOIN, "Alice"));
+        state.apply(event(3, ReplaySimulator.Kind.LEAVE, "Bob"));
+        state.apply(event(4, ReplaySimulator.Kind.LEAVE, "Bob"));
+
+        assertEquals(1, state.present[0]);
+        assertEquals(2, state.peak[0]);
+        assertEquals(2, state.unmatchedLeaves);
+    }
+
+    @Test
+    void chatBurstsArePerSender() {
+        ReplaySimulator.LiveState state = new ReplaySimulator.LiveState(1);
+        for (int i = 0; i < ReplaySimulator.LiveState.BURST_MESSAGES; i++) {
+            state.apply(event(i, ReplaySimulator.Kind.CHAT, "Alice"));
+            state.apply(event(i, ReplaySimulator.Kind.CHAT, i % 2 == 0 ? "Bob" : "Eve"));
+        }
+        assertEquals(1, state.bursts);
+    }
+
+    @Test
+    void replayAnalyzesEveryMeeting() throws Exception {
+        Dataset dataset;
+        try (InputStream in = App.class.getResourceAsStream("/meet_data_with_offline.json")) {
+            dataset = Dataset.load(in);
+        }
+        ReplaySimulator.Result result = ReplaySimulator.run(dataset, 0);
+
+        assertEquals(dataset.meetings().size(), result.analytics.meetings());
+        List<App.Meeting> meetings = dataset.meetings();
+        for (int i = 0; i < meetings.size(); i++) {
+            assertEquals(0, result.state.present[i], meetings.get(i).meetingId);
+        }
+    }
+
+    @Test
+    void failingAnalysisEndsTheReplay() {
+        // The short meeting finishes first and triggers a pass; the long one alone overfills the queue
+        LocalDateTime start = LocalDateTime.of(2024, 3, 1, 9, 0);
+        List<App.Chat> chats = new ArrayList<>();
+        for (int i = 0; i < ReplaySimulator.QUEUE_CAPACITY * 3; i++) {
+            chats.add(new App.Chat(start.plusSeconds(i + 1), "Alice", "hi"));
+        }
+        Dataset dataset = new Dataset(List.of(
+            new App.Meeting("M1", "Math", "2024-03-01", "online", "", List.of(),
+                List.of(new App.Chat(start, "Bob", "hello")), List.of()),
+            new App.Meeting("M2", "Math", "2024-03-01", "online", "", List.of(), chats, List.of())));
+        List<Analyzer<?>> failing = List.of(d -> {
+            throw new IllegalArgumentException("broken analyzer");
+        });
+
+        IllegalStateException e = assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> assertThrows(IllegalStateException.class, () -> ReplaySimulator.run(dataset, 0, failing)));
+        Throwable cause = e.getCause();
+        while (cause.getCause() != null) cause = cause.getCause();
+        assertEquals("broken analyzer", cause.getMessage());
+    }
+}
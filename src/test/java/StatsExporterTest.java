@@ -0,0 +1,104 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class StatsExporterTest {
+
+    private record Row(String name, long count, double rate) {}
+
+    private static final List<StatsExporter.Column<Row>> COLUMNS = List.of(
+        StatsExporter.Column.ofString("name", Row::name),
+        StatsExporter.Column.ofLong("count", Row::count),
+        StatsExporter.Column.ofDouble("rate", Row::rate)
+    );
+
+    /** Decodes a .col file into one list of values per column. */
+    private static List<List<Object>> readColumnar(byte[] file) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(file));
+        assertEquals("STCOL", new String(in.readNBytes(5), StandardCharsets.US_ASCII));
+        assertEquals(StatsExporter.VERSION, in.readByte());
+        int rows = in.readInt();
+        int columns = in.readShort();
+        byte[] types = new byte[columns];
+        for (int c = 0; c < columns; c++) {
+            readText(in);
+            types[c] = in.readByte();
+        }
+        List<List<Object>> result = new ArrayList<>();
+        for (int c = 0; c < columns; c++) {
+            List<Object> values = new ArrayList<>();
+            if (types[c] == StatsExporter.LONG) {
+                for (int r = 0; r < rows; r++) values.add(readVarLong(in));
+            } else if (types[c] == StatsExporter.DOUBLE) {
+                for (int r = 0; r < rows; r++) values.add(in.readDouble());
+            } else {
+                List<String> dictionary = new ArrayList<>();
+                int size = in.readInt();
+                for (int i = 0; i < size; i++) dictionary.add(readText(in));
+                for (int r = 0; r < rows; r++) values.add(dictionary.get((int) readVarLong(in)));
+            }
+            result.add(values);
+        }
+        assertEquals(-1, in.read());
+        return result;
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long v = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        return new String(in.readNBytes((int) readVarLong(in)), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void columnarRoundTrip() throws IOException {
+        String huge = "ü".repeat(70_000);
+        List<Row> rows = List.of(
+            new Row("Alice", 3, 0.5),
+            new Row(huge, -1_000_000_000_000L, Double.NaN),
+            new Row("Alice", 0, 1.0));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StatsExporter.writeColumnar(rows, COLUMNS, out);
+
+        List<List<Object>> columns = readColumnar(out.toByteArray());
+        assertEquals(List.of("Alice", huge, "Alice"), columns.get(0));
+        assertEquals(List.of(3L, -1_000_000_000_000L, 0L), columns.get(1));
+        assertEquals(0.5, (double) columns.get(2).get(0));
+        assertTrue(Double.isNaN((double) columns.get(2).get(1)));
+    }
+
+    @Test
+    void offlineSecondsAreExact() {
+        LocalDateTime in = LocalDateTime.of(2024, 3, 1, 9, 0);
+        App.Attendance attendance = new App.Attendance("present", in, in.plusMinutes(50).plusSeconds(59), 0, 0);
+        App.Meeting meeting = new App.Meeting("M1", "Lab", "2024-03-01", "offline", "Lab 101",
+            List.of(new App.Participant("Alice", List.of(), attendance)), List.of(), List.of());
+        Map.Entry<String, ParticipantAggregates.Totals> alice =
+            Map.entry("Alice", ParticipantAggregates.of(List.of(meeting)).totals().get("Alice"));
+
+        StatsExporter.Column<Map.Entry<String, ParticipantAggregates.Totals>> offline = StatsExporter.PARTICIPANT_COLUMNS.stream()
+            .filter(c -> c.name.equals("offline_seconds"))
+            .findFirst().orElseThrow();
+        assertEquals(50 * 60 + 59, offline.longValue.applyAsLong(alice));
+    }
+}
@@ -0,0 +1,81 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class TopKTest {
+
+    @Test
+    void keepsHighestKeysBestFirst() {
+        TopK<String> top = new TopK<>(3);
+        top.offer("a", 1);
+        top.offer("b", 5);
+        top.offer("c", 3);
+        top.offer("d", 4);
+        top.offer("e", 2);
+        assertEquals(List.of("b", "d", "c"), top.toList());
+    }
+
+    @Test
+    void tiesKeepInsertionOrder() {
+        TopK<String> top = new TopK<>(3);
+        top.offer("first", 2);
+        top.offer("second", 2);
+        top.offer("third", 2);
+        top.offer("fourth", 2);
+        top.offer("best", 3);
+        assertEquals(List.of("best", "first", "second"), top.toList());
+    }
+
+    @Test
+    void fewerItemsThanKAndZeroK() {
+        TopK<String> top = new TopK<>(5);
+        top.offer("x", 1);
+        top.offer("y", 2);
+        assertEquals(List.of("y", "x"), top.toList());
+
+        TopK<String> none = new TopK<>(0);
+        none.offer("x", 1);
+        assertTrue(none.toList().isEmpty());
+    }
+
+    @Test
+    void matchesStableDescendingSort() {
+        Random random = new Random(42);
+        List<int[]> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(new int[] {i, random.nextInt(50)});
+        }
+        TopK<int[]> top = new TopK<>(25);
+        for (int[] item : items) {
+            top.offer(item, item[1]);
+        }
+        List<Integer> expected = items.stream()
+            .sorted(Comparator.comparingInt((int[] item) -> item[1]).reversed())
+            .limit(25)
+            .map(item -> item[0])
+            .collect(Collectors.toList());
+        assertEquals(expected, top.toList().stream().map(item -> item[0]).collect(Collectors.toList()));
+    }
+
+    @Test
+    void ofRanksMapEntriesByValue() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("Alice", 3);
+        counts.put("Bob", 7);
+        counts.put("Carol", 7);
+        counts.put("Dan", 1);
+        List<String> names = TopK.of(counts, 2, v -> v).stream()
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+        assertEquals(List.of("Bob", "Carol"), names);
+    }
+}